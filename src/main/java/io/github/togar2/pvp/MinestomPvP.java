@@ -5,6 +5,7 @@ import io.github.togar2.pvp.feature.CombatFeatures;
 import io.github.togar2.pvp.feature.config.CombatFeatureRegistry;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.player.CombatPlayerImpl;
+import io.github.togar2.pvp.player.LatencyProbe;
 import io.github.togar2.pvp.potion.effect.CombatPotionEffects;
 import io.github.togar2.pvp.potion.item.CombatPotionTypes;
 import io.github.togar2.pvp.utils.AccurateLatencyListener;
@@ -70,9 +71,10 @@ public class MinestomPvP {
 	 * Depending on the value of the parameters, it might also register:<br>
 	 * - a custom player implementation<br>
 	 * - a custom packet listener for {@link ClientKeepAlivePacket}<br>
+	 * - a {@link LatencyProbe} for more frequent latency measurements<br>
 	 *
 	 * @param player When set to true, the custom player implementation will be registered
-	 * @param keepAlive When set to true, the custom packet listener will be registered
+	 * @param keepAlive When set to true, the custom packet listener and the latency probe will be registered
 	 */
 	public static void init(boolean player, boolean keepAlive) {
 		CombatEnchantments.registerAll();
@@ -90,6 +92,7 @@ public class MinestomPvP {
 		if (keepAlive) {
 			MinecraftServer.getPacketListenerManager().setPlayListener(ClientKeepAlivePacket.class, AccurateLatencyListener::listener);
 			MinecraftServer.getGlobalEventHandler().addListener(PlayerPacketOutEvent.class, AccurateLatencyListener::onSend);
+			LatencyProbe.init(MinecraftServer.getGlobalEventHandler());
 		}
 	}
 }
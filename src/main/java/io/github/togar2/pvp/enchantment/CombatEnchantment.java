@@ -12,12 +12,14 @@ import net.minestom.server.item.enchant.Enchantment;
 import net.minestom.server.registry.RegistryKey;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class CombatEnchantment {
 	private final RegistryKey<Enchantment> enchantment;
 	private final EquipmentSlot[] slotTypes;
+	private final List<EquipmentSlot> slots;
 	
 	private final Set<FeatureType<?>> dependencies;
 	
@@ -30,6 +32,7 @@ public class CombatEnchantment {
 		this.enchantment = enchantment;
 		this.dependencies = dependencies;
 		this.slotTypes = slotTypes;
+		this.slots = List.of(slotTypes);
 	}
 	
 	public RegistryKey<Enchantment> getEnchantment() {
@@ -40,6 +43,13 @@ public class CombatEnchantment {
 		return dependencies;
 	}
 	
+	/**
+	 * @return the equipment slots in which this enchantment has effect
+	 */
+	public List<EquipmentSlot> getSlots() {
+		return slots;
+	}
+	
 	public Map<EquipmentSlot, ItemStack> getEquipment(LivingEntity entity) {
 		Map<EquipmentSlot, ItemStack> map = new HashMap<>();
 		
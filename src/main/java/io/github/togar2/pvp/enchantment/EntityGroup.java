@@ -3,6 +3,8 @@ package io.github.togar2.pvp.enchantment;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.LivingEntity;
 
+import java.util.Arrays;
+
 public enum EntityGroup {
 	DEFAULT,
 	UNDEAD,
@@ -10,19 +12,30 @@ public enum EntityGroup {
 	ILLAGER,
 	AQUATIC;
 	
-	public static EntityGroup ofEntity(LivingEntity entity) {
-		EntityType entityType = entity.getEntityType();
-		if (entityType == EntityType.BEE || entityType == EntityType.CAVE_SPIDER || entityType == EntityType.ENDERMITE || entityType == EntityType.SILVERFISH || entityType == EntityType.SPIDER) {
-			return EntityGroup.ARTHROPOD;
-		} else if (entityType == EntityType.COD || entityType == EntityType.DOLPHIN || entityType == EntityType.ELDER_GUARDIAN || entityType == EntityType.GUARDIAN || entityType == EntityType.PUFFERFISH || entityType == EntityType.SALMON || entityType == EntityType.SQUID || entityType == EntityType.TROPICAL_FISH || entityType == EntityType.TURTLE) {
-			return EntityGroup.AQUATIC;
-		} else if (EntityType.DROWNED == entityType || EntityType.HUSK == entityType || EntityType.PHANTOM == entityType || EntityType.SKELETON == entityType || EntityType.SKELETON_HORSE == entityType || EntityType.STRAY == entityType || EntityType.WITHER == entityType || EntityType.WITHER_SKELETON == entityType || EntityType.ZOGLIN == entityType || EntityType.ZOMBIE == entityType || EntityType.ZOMBIE_HORSE == entityType || EntityType.ZOMBIE_VILLAGER == entityType || EntityType.ZOMBIFIED_PIGLIN == entityType) {
-			return EntityGroup.UNDEAD;
-		} else if (EntityType.EVOKER == entityType || EntityType.ILLUSIONER == entityType || EntityType.PILLAGER == entityType || EntityType.VINDICATOR == entityType) {
-			return EntityGroup.ILLAGER;
+	// Indexed by entity type id
+	private static final EntityGroup[] BY_ENTITY_TYPE = new EntityGroup[EntityType.values().stream().mapToInt(EntityType::id).max().orElse(-1) + 1];
+	
+	static {
+		Arrays.fill(BY_ENTITY_TYPE, DEFAULT);
+		register(ARTHROPOD, EntityType.BEE, EntityType.CAVE_SPIDER, EntityType.ENDERMITE, EntityType.SILVERFISH, EntityType.SPIDER);
+		register(AQUATIC, EntityType.COD, EntityType.DOLPHIN, EntityType.ELDER_GUARDIAN, EntityType.GUARDIAN, EntityType.PUFFERFISH, EntityType.SALMON, EntityType.SQUID, EntityType.TROPICAL_FISH, EntityType.TURTLE);
+		register(UNDEAD, EntityType.DROWNED, EntityType.HUSK, EntityType.PHANTOM, EntityType.SKELETON, EntityType.SKELETON_HORSE, EntityType.STRAY, EntityType.WITHER, EntityType.WITHER_SKELETON, EntityType.ZOGLIN, EntityType.ZOMBIE, EntityType.ZOMBIE_HORSE, EntityType.ZOMBIE_VILLAGER, EntityType.ZOMBIFIED_PIGLIN);
+		register(ILLAGER, EntityType.EVOKER, EntityType.ILLUSIONER, EntityType.PILLAGER, EntityType.VINDICATOR);
+	}
+	
+	private static void register(EntityGroup group, EntityType... entityTypes) {
+		for (EntityType entityType : entityTypes) {
+			BY_ENTITY_TYPE[entityType.id()] = group;
 		}
-		
-		return EntityGroup.DEFAULT;
+	}
+	
+	public static EntityGroup ofEntity(LivingEntity entity) {
+		return ofType(entity.getEntityType());
+	}
+	
+	public static EntityGroup ofType(EntityType entityType) {
+		int id = entityType.id();
+		return id < BY_ENTITY_TYPE.length ? BY_ENTITY_TYPE[id] : DEFAULT;
 	}
 	
 	public boolean isUndead() {
@@ -0,0 +1,67 @@
+package io.github.togar2.pvp.entity;
+
+import io.github.togar2.pvp.utils.EntityUtil;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.entity.EntityVelocityEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A creature which sends its velocity to its viewers at most once per tick, like {@link io.github.togar2.pvp.player.CombatPlayerImpl}.
+ * All velocity changes made during a tick, like mace smash knockback followed by attack knockback,
+ * are added up and sent in a single packet. Changes made before the creature moves are sent right before it moves,
+ * later changes at the end of the tick. The velocity is sent as it was set, before the movement of the creature changes it.
+ * <p>
+ * Other entities send a packet on every {@link #setVelocity(Vec)}, since Minestom sends it as part of setting the velocity.
+ * Servers which want velocity updates of their mobs to be combined should extend this class instead of {@link EntityCreature}.
+ */
+public class CombatCreature extends EntityCreature {
+	private volatile boolean velocityUpdatePending = false;
+	private volatile Vec pendingVelocity = null;
+	private final Runnable velocityUpdateFlush = this::flushVelocityUpdate;
+
+	public CombatCreature(@NotNull EntityType entityType) {
+		super(entityType);
+	}
+
+	public CombatCreature(@NotNull EntityType entityType, @NotNull UUID uuid) {
+		super(entityType, uuid);
+	}
+
+	@Override
+	public void setVelocity(@NotNull Vec velocity) {
+		EntityVelocityEvent entityVelocityEvent = new EntityVelocityEvent(this, velocity);
+		EventDispatcher.callCancellable(entityVelocityEvent, () -> {
+			this.velocity = entityVelocityEvent.getVelocity();
+			pendingVelocity = this.velocity;
+			scheduleVelocityUpdate();
+		});
+	}
+
+	@Override
+	protected void movementTick() {
+		flushVelocityUpdate();
+		super.movementTick();
+	}
+
+	private void scheduleVelocityUpdate() {
+		if (velocityUpdatePending) return;
+		velocityUpdatePending = true;
+		MinecraftServer.getSchedulerManager().scheduleEndOfTick(velocityUpdateFlush);
+	}
+
+	private void flushVelocityUpdate() {
+		velocityUpdatePending = false;
+		Vec velocity = pendingVelocity;
+		if (velocity == null) return;
+		pendingVelocity = null;
+		if (isRemoved()) return;
+
+		sendPacketToViewers(EntityUtil.getCappedVelocityPacket(this, velocity));
+	}
+}
@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.entity.projectile;
 
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.fall.FallFeature;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Entity;
@@ -21,10 +22,16 @@ public class ThrownEnderpearl extends CustomEntityProjectile implements ItemHold
 	private Pos prevPos = Pos.ZERO;
 	
 	private final FallFeature fallFeature;
+	private final CosmeticsFeature cosmeticsFeature;
 	
 	public ThrownEnderpearl(@Nullable Entity shooter, FallFeature fallFeature) {
+		this(shooter, fallFeature, CosmeticsFeature.NO_OP);
+	}
+	
+	public ThrownEnderpearl(@Nullable Entity shooter, FallFeature fallFeature, CosmeticsFeature cosmeticsFeature) {
 		super(shooter, EntityType.ENDER_PEARL);
 		this.fallFeature = fallFeature;
+		this.cosmeticsFeature = cosmeticsFeature;
 	}
 	
 	private void teleportOwner() {
@@ -32,7 +39,7 @@ public class ThrownEnderpearl extends CustomEntityProjectile implements ItemHold
 		ThreadLocalRandom random = ThreadLocalRandom.current();
 		
 		for (int i = 0; i < 32; i++) {
-			sendPacketToViewersAndSelf(new ParticlePacket(
+			cosmeticsFeature.sendPacket(this, new ParticlePacket(
 					Particle.PORTAL, false, false,
 					position.x(), position.y() + random.nextDouble() * 2, position.z(),
 					(float) random.nextGaussian(), 0.0F, (float) random.nextGaussian(),
@@ -1,15 +1,18 @@
 package io.github.togar2.pvp.entity.projectile;
 
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.effect.EffectFeature;
-import io.github.togar2.pvp.utils.EffectUtil;
+import io.github.togar2.pvp.feature.spatial.CombatantBuffer;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.*;
 import net.minestom.server.entity.metadata.item.LingeringPotionMeta;
 import net.minestom.server.entity.metadata.item.SplashPotionMeta;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.component.PotionContents;
+import net.minestom.server.network.packet.server.play.WorldEventPacket;
 import net.minestom.server.potion.Potion;
 import net.minestom.server.worldevent.WorldEvent;
 import org.jetbrains.annotations.NotNull;
@@ -17,15 +20,21 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class ThrownPotion extends CustomEntityProjectile implements ItemHoldingProjectile {
 	private final EffectFeature effectFeature;
+	private final CosmeticsFeature cosmeticsFeature;
 	private final boolean lingering;
 	
 	public ThrownPotion(@Nullable Entity shooter, EffectFeature effectFeature, boolean lingering) {
+		this(shooter, effectFeature, CosmeticsFeature.NO_OP, lingering);
+	}
+	
+	public ThrownPotion(@Nullable Entity shooter, EffectFeature effectFeature,
+	                    CosmeticsFeature cosmeticsFeature, boolean lingering) {
 		super(shooter, lingering ? EntityType.LINGERING_POTION : EntityType.SPLASH_POTION);
 		this.effectFeature = effectFeature;
+		this.cosmeticsFeature = cosmeticsFeature;
 		this.lingering = lingering;
 		
 		// Why does Minestom have the wrong value 0.03 in its registries?
@@ -69,36 +78,51 @@ public class ThrownPotion extends CustomEntityProjectile implements ItemHoldingP
 		}
 		
 		WorldEvent effect = instantEffect ? WorldEvent.PARTICLES_INSTANT_POTION_SPLASH : WorldEvent.PARTICLES_SPELL_POTION_SPLASH;
-		EffectUtil.sendNearby(
-				Objects.requireNonNull(getInstance()), effect, position.blockX(),
-				position.blockY(), position.blockZ(), effectFeature.getPotionColor(potionContents),
-				64.0, false
+		Pos blockPosition = new Pos(position.blockX(), position.blockY(), position.blockZ());
+		cosmeticsFeature.sendNearby(
+				Objects.requireNonNull(getInstance()), blockPosition,
+				new WorldEventPacket(effect.id(), blockPosition, effectFeature.getPotionColor(potionContents), false),
+				64.0
 		);
 	}
 	
 	private void applySplash(PotionContents potionContents, @Nullable Entity hitEntity) {
 		BoundingBox boundingBox = getBoundingBox().expand(8.0, 4.0, 8.0);
-		List<LivingEntity> entities = Objects.requireNonNull(getInstance()).getEntities().stream()
-				.filter(entity -> boundingBox.intersectEntity(getPosition().add(0, -2, 0), entity))
-				.filter(entity -> entity instanceof LivingEntity
-						&& !(entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR))
-				.map(entity -> (LivingEntity) entity).collect(Collectors.toList());
+		Pos boxPosition = getPosition().add(0, -2, 0);
 		
-		if (hitEntity instanceof LivingEntity && !entities.contains(hitEntity))
-			entities.add((LivingEntity) hitEntity);
-		if (entities.isEmpty()) return;
-		
-		for (LivingEntity entity : entities) {
-			if (entity.getEntityType() == EntityType.ARMOR_STAND) continue;
+		// Only entities closer than 4 blocks are affected, so there is no need to look further
+		CombatantBuffer entities = CombatantBuffer.acquire();
+		try {
+			Objects.requireNonNull(getInstance()).getEntityTracker()
+					.nearbyEntities(getPosition(), 4, EntityTracker.Target.ENTITIES, entities);
 			
-			double distanceSquared = getDistanceSquared(entity);
-			if (distanceSquared >= 16.0) continue;
+			boolean containsHitEntity = false;
+			for (int i = 0; i < entities.size(); i++) {
+				LivingEntity entity = entities.get(i);
+				if (!boundingBox.intersectEntity(boxPosition, entity)) continue;
+				if (entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR) continue;
+				
+				if (entity == hitEntity) containsHitEntity = true;
+				applySplash(potionContents, hitEntity, entity);
+			}
 			
-			double proximity = entity == hitEntity ? 1.0 : (1.0 - Math.sqrt(distanceSquared) / 4.0);
-			effectFeature.addSplashPotionEffects(entity, potionContents, proximity, this, getShooter());
+			if (hitEntity instanceof LivingEntity living && !containsHitEntity)
+				applySplash(potionContents, hitEntity, living);
+		} finally {
+			entities.release();
 		}
 	}
 	
+	private void applySplash(PotionContents potionContents, @Nullable Entity hitEntity, LivingEntity entity) {
+		if (entity.getEntityType() == EntityType.ARMOR_STAND) return;
+		
+		double distanceSquared = getDistanceSquared(entity);
+		if (distanceSquared >= 16.0) return;
+		
+		double proximity = entity == hitEntity ? 1.0 : (1.0 - Math.sqrt(distanceSquared) / 4.0);
+		effectFeature.addSplashPotionEffects(entity, potionContents, proximity, this, getShooter());
+	}
+	
 	@NotNull
 	public ItemStack getItem() {
 		if (lingering) {
@@ -12,9 +12,8 @@ import net.minestom.server.entity.attribute.AttributeOperation;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.sound.SoundEvent;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 public enum ArmorMaterial {
@@ -108,10 +107,12 @@ public enum ArmorMaterial {
 		return slot == null ? EquipmentSlot.HELMET : slot;
 	}
 	
-	private static final Map<Material, ArmorMaterial> MATERIAL_TO_ARMOR_MATERIAL = new HashMap<>();
+	// Indexed by material id
+	private static final ArmorMaterial[] BY_MATERIAL = new ArmorMaterial[Material.values().stream().mapToInt(Material::id).max().orElse(-1) + 1];
 	
-	public static ArmorMaterial fromMaterial(Material material) {
-		return MATERIAL_TO_ARMOR_MATERIAL.get(material);
+	public static @Nullable ArmorMaterial fromMaterial(Material material) {
+		int id = material.id();
+		return id < BY_MATERIAL.length ? BY_MATERIAL[id] : null;
 	}
 	
 	public static Key getModifierId(EquipmentSlot slot) {
@@ -121,7 +122,7 @@ public enum ArmorMaterial {
 	static {
 		for (ArmorMaterial armorMaterial : values()) {
 			for (Material material : armorMaterial.items) {
-				MATERIAL_TO_ARMOR_MATERIAL.put(material, armorMaterial);
+				BY_MATERIAL[material.id()] = armorMaterial;
 			}
 		}
 	}
@@ -0,0 +1,51 @@
+package io.github.togar2.pvp.events;
+
+import io.github.togar2.pvp.feature.analytics.AttackAnomaly;
+import io.github.togar2.pvp.feature.analytics.AttackStatistics;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.event.trait.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when the clicking or attacking of a player crosses one of the analytics thresholds.
+ * The event is called once when the threshold is crossed, and again only after the player went back below it.
+ */
+public class AttackAnomalyEvent implements PlayerEvent, EntityInstanceEvent {
+
+	private final Player player;
+	private final AttackAnomaly anomaly;
+	private final double value;
+	private final AttackStatistics statistics;
+
+	public AttackAnomalyEvent(@NotNull Player player, @NotNull AttackAnomaly anomaly,
+	                          double value, @NotNull AttackStatistics statistics) {
+		this.player = player;
+		this.anomaly = anomaly;
+		this.value = value;
+		this.statistics = statistics;
+	}
+
+	@Override
+	public @NotNull Player getPlayer() {
+		return player;
+	}
+
+	public @NotNull AttackAnomaly getAnomaly() {
+		return anomaly;
+	}
+
+	/**
+	 * Gets the value which crossed the threshold,
+	 * which is the clicks per second or the standard deviation of the attack intervals.
+	 *
+	 * @return the value
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	public @NotNull AttackStatistics getStatistics() {
+		return statistics;
+	}
+}
@@ -0,0 +1,69 @@
+package io.github.togar2.pvp.events;
+
+import io.github.togar2.pvp.feature.reach.ReachResult;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.trait.CancellableEvent;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when an attack of a player fails the reach check.
+ * Cancelling this event allows the attack anyway.
+ */
+public class AttackReachRejectEvent implements EntityInstanceEvent, CancellableEvent {
+
+	private final Player entity;
+	private final Entity target;
+	private final ReachResult result;
+	private final double distance;
+
+	private boolean cancelled;
+
+	public AttackReachRejectEvent(@NotNull Player entity, @NotNull Entity target,
+	                              @NotNull ReachResult result, double distance) {
+		this.entity = entity;
+		this.target = target;
+		this.result = result;
+		this.distance = distance;
+	}
+
+	@Override
+	public @NotNull Player getEntity() {
+		return entity;
+	}
+
+	public @NotNull Entity getTarget() {
+		return target;
+	}
+
+	/**
+	 * Gets the reason the attack was rejected.
+	 *
+	 * @return the result of the reach check
+	 */
+	public @NotNull ReachResult getResult() {
+		return result;
+	}
+
+	/**
+	 * Gets the distance from the eyes of the attacker to the target hitbox.
+	 * This is the distance along the line of sight if the attacker was looking at the hitbox,
+	 * otherwise the shortest distance.
+	 *
+	 * @return the distance
+	 */
+	public double getDistance() {
+		return distance;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public void setCancelled(boolean cancel) {
+		this.cancelled = cancel;
+	}
+}
@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.events;
 
+import io.github.togar2.pvp.feature.knockback.KnockbackProfile;
 import io.github.togar2.pvp.feature.knockback.KnockbackSettings;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.event.trait.CancellableEvent;
@@ -25,16 +26,23 @@ public class EntityKnockbackEvent implements EntityInstanceEvent, CancellableEve
 	private final Entity attacker;
 	private final KnockbackType knockbackType;
 	private AnimationType animationType;
-	private KnockbackSettings settings = KnockbackSettings.DEFAULT;
+	private KnockbackProfile profile;
 	
 	private boolean cancelled;
 	
 	public EntityKnockbackEvent(@NotNull Entity entity, @NotNull Entity attacker,
 	                            @NotNull KnockbackType knockbackType, @NotNull AnimationType animationType) {
+		this(entity, attacker, knockbackType, animationType, KnockbackProfile.DEFAULT);
+	}
+	
+	public EntityKnockbackEvent(@NotNull Entity entity, @NotNull Entity attacker,
+	                            @NotNull KnockbackType knockbackType, @NotNull AnimationType animationType,
+	                            @NotNull KnockbackProfile profile) {
 		this.entity = entity;
 		this.attacker = attacker;
 		this.knockbackType = knockbackType;
 		this.animationType = animationType;
+		this.profile = profile;
 	}
 	
 	@NotNull
@@ -90,7 +98,7 @@ public class EntityKnockbackEvent implements EntityInstanceEvent, CancellableEve
 	 * @return the strength
 	 */
 	public KnockbackSettings getSettings() {
-		return settings;
+		return profile.getSettings();
 	}
 	
 	/**
@@ -99,7 +107,28 @@ public class EntityKnockbackEvent implements EntityInstanceEvent, CancellableEve
 	 * @param settings the strength
 	 */
 	public void setSettings(KnockbackSettings settings) {
-		this.settings = settings;
+		if (!settings.equals(profile.getSettings())) this.profile = KnockbackProfile.compile(settings);
+	}
+	
+	/**
+	 * Gets the compiled settings of the knockback,
+	 * which default to the profile of the instance of the entity.
+	 *
+	 * @return the profile
+	 */
+	public KnockbackProfile getProfile() {
+		return profile;
+	}
+	
+	/**
+	 * Sets the compiled settings of the knockback.
+	 * Prefer this over {@link #setSettings(KnockbackSettings)} for settings which are used for many hits,
+	 * so they are not compiled again for every hit.
+	 *
+	 * @param profile the profile
+	 */
+	public void setProfile(@NotNull KnockbackProfile profile) {
+		this.profile = profile;
 	}
 	
 	@Override
@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.feature;
 
+import io.github.togar2.pvp.feature.analytics.VanillaAttackAnalyticsFeature;
 import io.github.togar2.pvp.feature.armor.VanillaArmorFeature;
 import io.github.togar2.pvp.feature.attack.VanillaAttackFeature;
 import io.github.togar2.pvp.feature.attack.VanillaCriticalFeature;
@@ -12,7 +13,9 @@ import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.cooldown.VanillaAttackCooldownFeature;
 import io.github.togar2.pvp.feature.cooldown.VanillaItemCooldownFeature;
+import io.github.togar2.pvp.feature.cosmetic.VanillaCosmeticsFeature;
 import io.github.togar2.pvp.feature.damage.VanillaDamageFeature;
+import io.github.togar2.pvp.feature.dot.VanillaDamageOverTimeFeature;
 import io.github.togar2.pvp.feature.effect.VanillaEffectFeature;
 import io.github.togar2.pvp.feature.enchantment.VanillaEnchantmentFeature;
 import io.github.togar2.pvp.feature.explosion.VanillaExplosionFeature;
@@ -24,10 +27,13 @@ import io.github.togar2.pvp.feature.food.VanillaRegenerationFeature;
 import io.github.togar2.pvp.feature.item.VanillaItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.FairKnockbackFeature;
 import io.github.togar2.pvp.feature.knockback.VanillaKnockbackFeature;
+import io.github.togar2.pvp.feature.lag.VanillaLagCompensationFeature;
 import io.github.togar2.pvp.feature.potion.VanillaPotionFeature;
 import io.github.togar2.pvp.feature.projectile.*;
 import io.github.togar2.pvp.feature.provider.DifficultyProvider;
+import io.github.togar2.pvp.feature.reach.VanillaReachFeature;
 import io.github.togar2.pvp.feature.spectate.VanillaSpectateFeature;
+import io.github.togar2.pvp.feature.spatial.GridSpatialIndexFeature;
 import io.github.togar2.pvp.feature.spear.VanillaSpearFeature;
 import io.github.togar2.pvp.feature.state.VanillaPlayerStateFeature;
 import io.github.togar2.pvp.feature.totem.VanillaTotemFeature;
@@ -174,6 +180,22 @@ public class CombatFeatures {
 	 * @see VanillaSpearFeature
 	 */
 	public static final DefinedFeature<VanillaSpearFeature> VANILLA_SPEAR = VanillaSpearFeature.DEFINED;
+	/**
+	 * @see VanillaDamageOverTimeFeature
+	 */
+	public static final DefinedFeature<VanillaDamageOverTimeFeature> VANILLA_DAMAGE_OVER_TIME = VanillaDamageOverTimeFeature.DEFINED;
+	/**
+	 * @see VanillaLagCompensationFeature
+	 */
+	public static final DefinedFeature<VanillaLagCompensationFeature> VANILLA_LAG_COMPENSATION = VanillaLagCompensationFeature.DEFINED;
+	/**
+	 * @see VanillaReachFeature
+	 */
+	public static final DefinedFeature<VanillaReachFeature> VANILLA_REACH = VanillaReachFeature.DEFINED;
+	/**
+	 * @see VanillaCosmeticsFeature
+	 */
+	public static final DefinedFeature<VanillaCosmeticsFeature> VANILLA_COSMETICS = VanillaCosmeticsFeature.DEFINED;
 
 	/**
 	 * @see LegacyVanillaBlockFeature
@@ -189,6 +211,24 @@ public class CombatFeatures {
 	 */
 	public static final DefinedFeature<FairKnockbackFeature> FAIR_RISING_FALLING_KNOCKBACK = FairKnockbackFeature.RISING_AND_FALLING;
 	
+	/**
+	 * @see VanillaAttackFeature
+	 */
+	public static final DefinedFeature<VanillaAttackFeature> QUEUED_ATTACK = VanillaAttackFeature.QUEUED;
+	/**
+	 * @see VanillaCosmeticsFeature
+	 */
+	public static final DefinedFeature<VanillaCosmeticsFeature> BUNDLED_COSMETICS = VanillaCosmeticsFeature.BUNDLED;
+	/**
+	 * @see GridSpatialIndexFeature
+	 */
+	public static final DefinedFeature<GridSpatialIndexFeature> GRID_SPATIAL_INDEX = GridSpatialIndexFeature.DEFINED;
+	
+	/**
+	 * @see VanillaAttackAnalyticsFeature
+	 */
+	public static final DefinedFeature<VanillaAttackAnalyticsFeature> VANILLA_ATTACK_ANALYTICS = VanillaAttackAnalyticsFeature.DEFINED;
+	
 	private static final List<DefinedFeature<?>> VANILLA = List.of(
 			VANILLA_ARMOR, VANILLA_ATTACK, VANILLA_CRITICAL, VANILLA_SWEEPING,
 			VANILLA_EQUIPMENT, VANILLA_BLOCK, VANILLA_ATTACK_COOLDOWN, VANILLA_ITEM_COOLDOWN,
@@ -197,7 +237,8 @@ public class CombatFeatures {
 			VANILLA_REGENERATION, VANILLA_ITEM_DAMAGE, VANILLA_KNOCKBACK, VANILLA_POTION,
 			VANILLA_BOW, VANILLA_CROSSBOW, VANILLA_FISHING_ROD, VANILLA_MISC_PROJECTILE,
 			VANILLA_PROJECTILE_ITEM, VANILLA_TRIDENT, VANILLA_SPECTATE, VANILLA_PLAYER_STATE,
-			VANILLA_TOTEM, VANILLA_DEATH_MESSAGE, VANILLA_MACE, VANILLA_SPEAR
+			VANILLA_TOTEM, VANILLA_DEATH_MESSAGE, VANILLA_MACE, VANILLA_SPEAR,
+			VANILLA_DAMAGE_OVER_TIME, VANILLA_LAG_COMPENSATION, VANILLA_REACH, VANILLA_COSMETICS
 	);
 	
 	private static final CombatFeatureSet MODERN_VANILLA = getVanilla(CombatVersion.MODERN, DifficultyProvider.DEFAULT).build();
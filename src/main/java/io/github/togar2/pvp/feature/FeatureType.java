@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.feature;
 
+import io.github.togar2.pvp.feature.analytics.AttackAnalyticsFeature;
 import io.github.togar2.pvp.feature.armor.ArmorFeature;
 import io.github.togar2.pvp.feature.attack.AttackFeature;
 import io.github.togar2.pvp.feature.attack.CriticalFeature;
@@ -9,7 +10,9 @@ import io.github.togar2.pvp.feature.block.BlockFeature;
 import io.github.togar2.pvp.feature.block.LegacyBlockFeature;
 import io.github.togar2.pvp.feature.cooldown.AttackCooldownFeature;
 import io.github.togar2.pvp.feature.cooldown.ItemCooldownFeature;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.damage.DamageFeature;
+import io.github.togar2.pvp.feature.dot.DamageOverTimeFeature;
 import io.github.togar2.pvp.feature.effect.EffectFeature;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.feature.explosion.ExplosionFeature;
@@ -20,9 +23,13 @@ import io.github.togar2.pvp.feature.food.FoodFeature;
 import io.github.togar2.pvp.feature.food.RegenerationFeature;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
+import io.github.togar2.pvp.feature.lag.LagCompensationFeature;
 import io.github.togar2.pvp.feature.potion.PotionFeature;
 import io.github.togar2.pvp.feature.projectile.*;
 import io.github.togar2.pvp.feature.provider.DifficultyProvider;
+import io.github.togar2.pvp.feature.reach.ReachFeature;
+import io.github.togar2.pvp.feature.recording.RecorderFeature;
+import io.github.togar2.pvp.feature.spatial.SpatialIndexFeature;
 import io.github.togar2.pvp.feature.spectate.SpectateFeature;
 import io.github.togar2.pvp.feature.spear.SpearFeature;
 import io.github.togar2.pvp.feature.state.PlayerStateFeature;
@@ -74,6 +81,13 @@ public record FeatureType<F extends CombatFeature>(String name, F defaultFeature
 	public static final FeatureType<TrackingFeature> TRACKING = of("TRACKING", TrackingFeature.NO_OP);
 	public static final FeatureType<MaceFeature> MACE = of("MACE", MaceFeature.NO_OP);
 	public static final FeatureType<SpearFeature> SPEAR = of("SPEAR", SpearFeature.NO_OP);
+	public static final FeatureType<DamageOverTimeFeature> DAMAGE_OVER_TIME = of("DAMAGE_OVER_TIME", DamageOverTimeFeature.NO_OP);
+	public static final FeatureType<RecorderFeature> RECORDER = of("RECORDER", RecorderFeature.NO_OP);
+	public static final FeatureType<LagCompensationFeature> LAG_COMPENSATION = of("LAG_COMPENSATION", LagCompensationFeature.NO_OP);
+	public static final FeatureType<ReachFeature> REACH = of("REACH", ReachFeature.NO_OP);
+	public static final FeatureType<AttackAnalyticsFeature> ATTACK_ANALYTICS = of("ATTACK_ANALYTICS", AttackAnalyticsFeature.NO_OP);
+	public static final FeatureType<CosmeticsFeature> COSMETICS = of("COSMETICS", CosmeticsFeature.NO_OP);
+	public static final FeatureType<SpatialIndexFeature> SPATIAL_INDEX = of("SPATIAL_INDEX", SpatialIndexFeature.NO_OP);
 
 	public static <F extends CombatFeature> FeatureType<F> of(String name, F noopFeature) {
 		return new FeatureType<>(name, noopFeature);
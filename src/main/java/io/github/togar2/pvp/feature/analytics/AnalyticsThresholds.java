@@ -0,0 +1,17 @@
+package io.github.togar2.pvp.feature.analytics;
+
+/**
+ * The thresholds at which {@link VanillaAttackAnalyticsFeature} reports an {@link AttackAnomaly}.
+ *
+ * @param maxClicksPerSecond the highest amount of clicks per second which is not reported
+ * @param minIntervalDeviation the lowest standard deviation of the attack intervals in ticks which is not reported
+ * @param minSamples the amount of attack intervals needed before the interval deviation is checked
+ */
+public record AnalyticsThresholds(int maxClicksPerSecond, double minIntervalDeviation, int minSamples) {
+	/**
+	 * Thresholds which never report an anomaly.
+	 */
+	public static final AnalyticsThresholds NONE = new AnalyticsThresholds(Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+
+	public static final AnalyticsThresholds DEFAULT = new AnalyticsThresholds(20, 0.1, 20);
+}
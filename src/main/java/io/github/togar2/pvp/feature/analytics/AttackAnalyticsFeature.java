@@ -0,0 +1,20 @@
+package io.github.togar2.pvp.feature.analytics;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Combat feature which keeps clicking and attack timing statistics of players.
+ */
+public interface AttackAnalyticsFeature extends CombatFeature {
+	AttackAnalyticsFeature NO_OP = player -> null;
+
+	/**
+	 * Gets the statistics of a player.
+	 *
+	 * @param player the player
+	 * @return the statistics, or null if the player did not click or attack yet
+	 */
+	@Nullable AttackStatistics getStatistics(Player player);
+}
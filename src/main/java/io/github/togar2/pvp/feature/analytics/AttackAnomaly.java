@@ -0,0 +1,15 @@
+package io.github.togar2.pvp.feature.analytics;
+
+/**
+ * A kind of unusual clicking or attacking behaviour detected by {@link VanillaAttackAnalyticsFeature}.
+ */
+public enum AttackAnomaly {
+	/**
+	 * The player clicks more often per second than the threshold allows.
+	 */
+	HIGH_CLICK_RATE,
+	/**
+	 * The time between the attacks of the player varies less than the threshold allows.
+	 */
+	CONSISTENT_INTERVALS
+}
@@ -0,0 +1,208 @@
+package io.github.togar2.pvp.feature.analytics;
+
+import net.minestom.server.ServerFlag;
+
+/**
+ * Clicking and attack timing statistics of a single player, kept by {@link VanillaAttackAnalyticsFeature}.
+ * <p>
+ * Times are measured in ticks of the player, which is also the resolution the client sends clicks at.
+ * Every statistic covers a window of the most recent attacks and is updated in constant time,
+ * by adding the newest value and removing the value which falls out of the window.
+ * <p>
+ * Statistics are updated on the thread ticking the player.
+ * Reading them from another thread may observe a partially applied update.
+ */
+public final class AttackStatistics {
+	/**
+	 * The highest interval the interval percentiles can distinguish, longer intervals count as this one.
+	 */
+	public static final int MAX_INTERVAL_TICKS = 63;
+
+	private static final int COOLDOWN_STEPS = 100;
+	private static final int SWING_HISTORY = 64;
+
+	private final IntWindow intervals;
+	private final IntWindow cooldowns;
+
+	private final long[] swings = new long[SWING_HISTORY];
+	private int swingHead;
+	private int swingCount;
+
+	private long lastAttackTick = Long.MIN_VALUE;
+	private long totalAttacks;
+	private long totalSwings;
+
+	final boolean[] anomalies = new boolean[AttackAnomaly.values().length];
+
+	AttackStatistics(int window) {
+		this.intervals = new IntWindow(window, MAX_INTERVAL_TICKS + 1);
+		this.cooldowns = new IntWindow(window, COOLDOWN_STEPS + 1);
+	}
+
+	void recordSwing(long tick) {
+		swings[swingHead] = tick;
+		swingHead = (swingHead + 1) % SWING_HISTORY;
+		if (swingCount < SWING_HISTORY) swingCount++;
+		totalSwings++;
+	}
+
+	void recordAttack(long tick, double cooldownProgress) {
+		// The alive ticks restart when the player respawns, so an earlier tick starts a new series
+		if (lastAttackTick != Long.MIN_VALUE && tick >= lastAttackTick) {
+			intervals.add((int) Math.min(tick - lastAttackTick, Integer.MAX_VALUE));
+		}
+		lastAttackTick = tick;
+
+		cooldowns.add((int) Math.round(Math.max(0, Math.min(1, cooldownProgress)) * COOLDOWN_STEPS));
+		totalAttacks++;
+	}
+
+	/**
+	 * Gets the amount of arm swings in the second before the given tick.
+	 * This counts every click, including the ones which did not hit anything.
+	 *
+	 * @param currentTick the current alive ticks of the player
+	 * @return the clicks per second, at most 64
+	 */
+	public int getClicksPerSecond(long currentTick) {
+		long since = currentTick - ServerFlag.SERVER_TICKS_PER_SECOND;
+		int count = 0;
+		int index = swingHead;
+		for (int i = 0; i < swingCount; i++) {
+			index = (index == 0 ? SWING_HISTORY : index) - 1;
+			if (swings[index] <= since) break;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @return the amount of attacks the player made
+	 */
+	public long getTotalAttacks() {
+		return totalAttacks;
+	}
+
+	/**
+	 * @return the amount of arm swings the player made
+	 */
+	public long getTotalSwings() {
+		return totalSwings;
+	}
+
+	/**
+	 * @return the amount of attack intervals in the window
+	 */
+	public int getIntervalCount() {
+		return intervals.size;
+	}
+
+	/**
+	 * @return the mean amount of ticks between two attacks in the window, or 0 if there are none
+	 */
+	public double getIntervalMean() {
+		return intervals.mean();
+	}
+
+	/**
+	 * @return the variance of the ticks between two attacks in the window, or 0 if there are none
+	 */
+	public double getIntervalVariance() {
+		return intervals.variance();
+	}
+
+	/**
+	 * @return the standard deviation of the ticks between two attacks in the window, or 0 if there are none
+	 */
+	public double getIntervalStandardDeviation() {
+		return Math.sqrt(intervals.variance());
+	}
+
+	/**
+	 * Gets a percentile of the ticks between two attacks in the window.
+	 *
+	 * @param percentile the percentile, between 0.0 and 1.0
+	 * @return the amount of ticks, at most {@link #MAX_INTERVAL_TICKS}, or 0 if there are no intervals
+	 */
+	public int getIntervalPercentile(double percentile) {
+		return intervals.percentile(percentile);
+	}
+
+	/**
+	 * @return the mean attack cooldown progress at the time of attacking in the window, or 0 if there are no attacks
+	 */
+	public double getCooldownMean() {
+		return cooldowns.mean() / COOLDOWN_STEPS;
+	}
+
+	/**
+	 * Gets a percentile of the attack cooldown progress at the time of attacking in the window.
+	 * The cooldown progress is rounded to two decimals.
+	 *
+	 * @param percentile the percentile, between 0.0 and 1.0
+	 * @return the cooldown progress, or 0 if there are no attacks
+	 */
+	public double getCooldownPercentile(double percentile) {
+		return cooldowns.percentile(percentile) / (double) COOLDOWN_STEPS;
+	}
+
+	/**
+	 * Ring buffer of integer samples with a running sum, sum of squares and histogram.
+	 * Using integers keeps the sums exact, so they never drift from the samples in the buffer.
+	 */
+	private static final class IntWindow {
+		private final int[] values;
+		private final int[] histogram;
+		private int head;
+		private int size;
+		private long sum;
+		private long sumSquares;
+
+		IntWindow(int capacity, int buckets) {
+			this.values = new int[capacity];
+			this.histogram = new int[buckets];
+		}
+
+		void add(int value) {
+			if (size == values.length) {
+				int removed = values[head];
+				sum -= removed;
+				sumSquares -= (long) removed * removed;
+				histogram[bucket(removed)]--;
+			} else {
+				size++;
+			}
+
+			values[head] = value;
+			head = (head + 1) % values.length;
+			sum += value;
+			sumSquares += (long) value * value;
+			histogram[bucket(value)]++;
+		}
+
+		private int bucket(int value) {
+			return Math.min(value, histogram.length - 1);
+		}
+
+		double mean() {
+			return size == 0 ? 0 : (double) sum / size;
+		}
+
+		double variance() {
+			if (size == 0) return 0;
+			double mean = (double) sum / size;
+			return Math.max(0, (double) sumSquares / size - mean * mean);
+		}
+
+		int percentile(double percentile) {
+			if (size == 0) return 0;
+			int rank = Math.max(1, (int) Math.ceil(percentile * size));
+			int seen = 0;
+			for (int i = 0; i < histogram.length; i++) {
+				seen += histogram[i];
+				if (seen >= rank) return i;
+			}
+			return histogram.length - 1;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package io.github.togar2.pvp.feature.analytics;
+
+import io.github.togar2.pvp.events.AttackAnomalyEvent;
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.RegistrableFeature;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cooldown.AttackCooldownFeature;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.PlayerHand;
+import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntityAttackEvent;
+import net.minestom.server.event.player.PlayerHandAnimationEvent;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Vanilla implementation of {@link AttackAnalyticsFeature}
+ * <p>
+ * Counts the main hand swings of every player, and records the interval since the previous attack
+ * and the attack cooldown progress for every attack.
+ * When a player crosses one of the configured {@link AnalyticsThresholds}, an {@link AttackAnomalyEvent} is called.
+ */
+public class VanillaAttackAnalyticsFeature implements AttackAnalyticsFeature, RegistrableFeature {
+	public static final int DEFAULT_WINDOW = 32;
+
+	public static final DefinedFeature<VanillaAttackAnalyticsFeature> DEFINED = defined(DEFAULT_WINDOW, AnalyticsThresholds.DEFAULT);
+
+	private static final Tag<AttackStatistics> STATISTICS = Tag.Transient("attackStatistics");
+
+	private final FeatureConfiguration configuration;
+	private final int window;
+	private final AnalyticsThresholds thresholds;
+
+	private AttackCooldownFeature attackCooldownFeature;
+
+	public VanillaAttackAnalyticsFeature(FeatureConfiguration configuration, int window, AnalyticsThresholds thresholds) {
+		if (window <= 0) throw new IllegalArgumentException("Window must hold at least one attack");
+		this.configuration = configuration;
+		this.window = window;
+		this.thresholds = thresholds;
+	}
+
+	/**
+	 * Creates a defined attack analytics feature.
+	 *
+	 * @param window the amount of recent attacks the statistics are calculated over
+	 * @param thresholds the thresholds at which anomalies are reported
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<VanillaAttackAnalyticsFeature> defined(int window, AnalyticsThresholds thresholds) {
+		return new DefinedFeature<>(
+				FeatureType.ATTACK_ANALYTICS,
+				configuration -> new VanillaAttackAnalyticsFeature(configuration, window, thresholds),
+				FeatureType.ATTACK_COOLDOWN
+		);
+	}
+
+	@Override
+	public void initDependencies() {
+		this.attackCooldownFeature = configuration.get(FeatureType.ATTACK_COOLDOWN);
+	}
+
+	@Override
+	public int getPriority() {
+		// The cooldown progress must be read before the attack resets it
+		return -1;
+	}
+
+	@Override
+	public void init(EventNode<EntityInstanceEvent> node) {
+		node.addListener(PlayerHandAnimationEvent.class, event -> {
+			if (event.getHand() != PlayerHand.MAIN) return;
+			Player player = event.getPlayer();
+
+			AttackStatistics statistics = getOrCreate(player);
+			statistics.recordSwing(player.getAliveTicks());
+
+			int clicksPerSecond = statistics.getClicksPerSecond(player.getAliveTicks());
+			update(player, statistics, AttackAnomaly.HIGH_CLICK_RATE,
+					clicksPerSecond > thresholds.maxClicksPerSecond(), clicksPerSecond);
+		});
+
+		node.addListener(EntityAttackEvent.class, event -> {
+			if (!(event.getEntity() instanceof Player player)) return;
+
+			AttackStatistics statistics = getOrCreate(player);
+			statistics.recordAttack(player.getAliveTicks(), attackCooldownFeature.getAttackCooldownProgress(player));
+
+			if (statistics.getIntervalCount() >= thresholds.minSamples()) {
+				double deviation = statistics.getIntervalStandardDeviation();
+				update(player, statistics, AttackAnomaly.CONSISTENT_INTERVALS,
+						deviation < thresholds.minIntervalDeviation(), deviation);
+			}
+		});
+	}
+
+	private AttackStatistics getOrCreate(Player player) {
+		AttackStatistics statistics = player.getTag(STATISTICS);
+		if (statistics == null) {
+			statistics = new AttackStatistics(window);
+			player.setTag(STATISTICS, statistics);
+		}
+		return statistics;
+	}
+
+	private void update(Player player, AttackStatistics statistics, AttackAnomaly anomaly,
+	                    boolean exceeded, double value) {
+		boolean previous = statistics.anomalies[anomaly.ordinal()];
+		statistics.anomalies[anomaly.ordinal()] = exceeded;
+
+		// Only report the moment the threshold is crossed, not every attack after it
+		if (exceeded && !previous) {
+			EventDispatcher.call(new AttackAnomalyEvent(player, anomaly, value, statistics));
+		}
+	}
+
+	@Override
+	public @Nullable AttackStatistics getStatistics(Player player) {
+		return player.getTag(STATISTICS);
+	}
+}
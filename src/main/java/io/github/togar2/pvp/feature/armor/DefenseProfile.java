@@ -0,0 +1,72 @@
+package io.github.togar2.pvp.feature.armor;
+
+import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.damage.DamageType;
+import net.minestom.server.potion.PotionEffect;
+import net.minestom.server.potion.TimedPotion;
+
+import java.util.Arrays;
+
+/**
+ * The defensive values of an entity which only change when its equipment or effects change:
+ * the resistance effect level and the protection enchantment totals per damage type.
+ * <p>
+ * Armor and armor toughness are not part of this profile,
+ * because their attribute values are already cached by Minestom until a modifier changes.
+ * <p>
+ * Profiles are kept by {@link VanillaArmorFeature} and are replaced when the entity equips something
+ * or when its resistance effect changes.
+ */
+public final class DefenseProfile {
+	private static final int UNKNOWN = Integer.MIN_VALUE;
+
+	private final ArmorFeature owner;
+	private final int resistanceLevel;
+	private int[] protection = new int[0];
+
+	DefenseProfile(ArmorFeature owner, LivingEntity entity) {
+		this.owner = owner;
+
+		TimedPotion resistance = entity.getEffect(PotionEffect.RESISTANCE);
+		this.resistanceLevel = resistance == null ? 0 : resistance.potion().amplifier() + 1;
+	}
+
+	ArmorFeature getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return the level of the resistance effect, or 0 if the entity does not have it
+	 */
+	public int getResistanceLevel() {
+		return resistanceLevel;
+	}
+
+	/**
+	 * Returns the total protection of the entity against a damage type.
+	 * The total is computed on first use for every damage type.
+	 *
+	 * @param entity the entity this profile belongs to
+	 * @param type the damage type
+	 * @param typeId the registry id of the damage type
+	 * @param enchantmentFeature the enchantment feature used to compute the total
+	 * @return the protection total
+	 */
+	public int getProtection(LivingEntity entity, DamageType type, int typeId, EnchantmentFeature enchantmentFeature) {
+		if (typeId < 0) return enchantmentFeature.getProtectionAmount(entity, type);
+
+		if (typeId >= protection.length) {
+			int oldLength = protection.length;
+			protection = Arrays.copyOf(protection, Math.max(typeId + 1, oldLength * 2));
+			Arrays.fill(protection, oldLength, protection.length, UNKNOWN);
+		}
+
+		int amount = protection[typeId];
+		if (amount == UNKNOWN) {
+			amount = enchantmentFeature.getProtectionAmount(entity, type);
+			protection[typeId] = amount;
+		}
+		return amount;
+	}
+}
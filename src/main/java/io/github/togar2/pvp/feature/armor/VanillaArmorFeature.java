@@ -2,27 +2,39 @@ package io.github.togar2.pvp.feature.armor;
 
 import io.github.togar2.pvp.damage.DamageTypeInfo;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.DamageType;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntityPotionAddEvent;
+import net.minestom.server.event.entity.EntityPotionRemoveEvent;
+import net.minestom.server.event.item.EntityEquipEvent;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.item.ItemStack;
 import net.minestom.server.potion.PotionEffect;
-import net.minestom.server.potion.TimedPotion;
+import net.minestom.server.registry.DynamicRegistry;
+import net.minestom.server.registry.RegistryKey;
+import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.MathUtils;
 
 /**
  * Vanilla implementation of {@link ArmorFeature}
  */
-public class VanillaArmorFeature implements ArmorFeature {
+public class VanillaArmorFeature implements ArmorFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaArmorFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.ARMOR, VanillaArmorFeature::new,
 			FeatureType.ENCHANTMENT, FeatureType.VERSION
 	);
 	
+	public static final Tag<DefenseProfile> DEFENSE_PROFILE = Tag.Transient("defenseProfile");
+	
 	private final FeatureConfiguration configuration;
 	private EnchantmentFeature enchantmentFeature;
 	private CombatVersion version;
@@ -37,6 +49,43 @@ public class VanillaArmorFeature implements ArmorFeature {
 		this.version = configuration.get(FeatureType.VERSION);
 	}
 	
+	@Override
+	public void init(EventNode<EntityInstanceEvent> node) {
+		// Attribute changes do not need to be tracked, since armor values are not part of the profile
+		node.addListener(EntityEquipEvent.class, event -> {
+			if (!(event.getEntity() instanceof LivingEntity entity) || !event.getSlot().isArmor()) return;
+			
+			// Armor taking damage replaces the item, but keeps the same enchantments
+			ItemStack previous = entity.getEquipment(event.getSlot());
+			if (previous.get(DataComponents.ENCHANTMENTS) != event.getEquippedItem().get(DataComponents.ENCHANTMENTS))
+				entity.removeTag(DEFENSE_PROFILE);
+		});
+		node.addListener(EntityPotionAddEvent.class, event -> {
+			if (event.getPotion().effect() == PotionEffect.RESISTANCE)
+				event.getEntity().removeTag(DEFENSE_PROFILE);
+		});
+		node.addListener(EntityPotionRemoveEvent.class, event -> {
+			if (event.getPotion().effect() == PotionEffect.RESISTANCE)
+				event.getEntity().removeTag(DEFENSE_PROFILE);
+		});
+	}
+	
+	/**
+	 * Gets the cached defense profile of an entity, creating it if it does not exist yet.
+	 *
+	 * @param entity the entity
+	 * @return the defense profile
+	 */
+	public DefenseProfile getDefenseProfile(LivingEntity entity) {
+		DefenseProfile profile = entity.getTag(DEFENSE_PROFILE);
+		// Another armor feature might be active for the same entity
+		if (profile == null || profile.getOwner() != this) {
+			profile = new DefenseProfile(this, entity);
+			entity.setTag(DEFENSE_PROFILE, profile);
+		}
+		return profile;
+	}
+	
 	@Override
 	public float getDamageWithProtection(LivingEntity entity, DamageType type, float amount) {
 		DamageTypeInfo info = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(type));
@@ -63,10 +112,11 @@ public class VanillaArmorFeature implements ArmorFeature {
 		DamageTypeInfo damageTypeInfo = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
 		if (damageTypeInfo.unblockable()) return amount;
 		
+		DefenseProfile profile = getDefenseProfile(entity);
+		
 		int k;
-		TimedPotion effect = entity.getEffect(PotionEffect.RESISTANCE);
-		if (effect != null) {
-			k = (effect.potion().amplifier() + 1) * 5;
+		if (profile.getResistanceLevel() > 0) {
+			k = profile.getResistanceLevel() * 5;
 			int j = 25 - k;
 			float f = amount * (float) j;
 			amount = Math.max(f / 25, 0);
@@ -75,7 +125,9 @@ public class VanillaArmorFeature implements ArmorFeature {
 		if (amount <= 0) {
 			return 0;
 		} else {
-			k = enchantmentFeature.getProtectionAmount(entity, damageType);
+			DynamicRegistry<DamageType> registry = MinecraftServer.getDamageTypeRegistry();
+			RegistryKey<DamageType> key = registry.getKey(damageType);
+			k = profile.getProtection(entity, damageType, key == null ? -1 : registry.getId(key), enchantmentFeature);
 			if (version.modern()) {
 				if (k > 0) {
 					amount = getDamageAfterProtectionEnchantment(amount, (float) k);
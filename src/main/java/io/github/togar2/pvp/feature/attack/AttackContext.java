@@ -0,0 +1,243 @@
+package io.github.togar2.pvp.feature.attack;
+
+import io.github.togar2.pvp.enums.Tool;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The mutable state of an attack while it is being resolved by {@link VanillaAttackFeature}.
+ * Every stage of the attack (critical, sweeping, enchantments, damage, knockback and effects)
+ * reads from and writes to the same context.
+ * <p>
+ * Contexts are pooled per thread and reused for later attacks,
+ * so a context must not be stored or used after the feature it was passed to has returned.
+ */
+public final class AttackContext {
+	private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+	private LivingEntity attacker;
+	private Entity target;
+	private AttackOptions options = AttackOptions.DEFAULT;
+	private @Nullable Tool tool;
+
+	private float damage;
+	private float magicalDamage;
+	private double cooldownProgress;
+	private boolean strong;
+	private boolean sprint;
+	private boolean critical;
+	private boolean sweeping;
+	private int knockback;
+	private int fireAspect;
+	private boolean sounds;
+	private boolean playSoundsOnFail;
+
+	private AttackContext() {}
+
+	/**
+	 * Takes a cleared context from the pool of the current thread.
+	 * Attacks performed while another attack is being resolved get their own context.
+	 */
+	static AttackContext acquire(LivingEntity attacker, Entity target) {
+		AttackContext context = POOL.get().take();
+		context.attacker = attacker;
+		context.target = target;
+		return context;
+	}
+
+	/**
+	 * Returns a context to the pool of the current thread.
+	 */
+	static void release(AttackContext context) {
+		context.reset();
+		POOL.get().giveBack();
+	}
+
+	private void reset() {
+		attacker = null;
+		target = null;
+		options = AttackOptions.DEFAULT;
+		tool = null;
+		damage = 0;
+		magicalDamage = 0;
+		cooldownProgress = 0;
+		strong = false;
+		sprint = false;
+		critical = false;
+		sweeping = false;
+		knockback = 0;
+		fireAspect = 0;
+		sounds = false;
+		playSoundsOnFail = false;
+	}
+
+	public LivingEntity getAttacker() {
+		return attacker;
+	}
+
+	public Entity getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return the options the attack was performed with
+	 */
+	public AttackOptions getOptions() {
+		return options;
+	}
+
+	void setOptions(AttackOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * @return the tool the attacker is holding in their main hand, or null if it is not a tool
+	 */
+	public @Nullable Tool getTool() {
+		return tool;
+	}
+
+	public void setTool(@Nullable Tool tool) {
+		this.tool = tool;
+	}
+
+	public float getDamage() {
+		return damage;
+	}
+
+	public void setDamage(float damage) {
+		this.damage = damage;
+	}
+
+	/**
+	 * @return the extra damage from enchantments
+	 */
+	public float getMagicalDamage() {
+		return magicalDamage;
+	}
+
+	public void setMagicalDamage(float magicalDamage) {
+		this.magicalDamage = magicalDamage;
+	}
+
+	public double getCooldownProgress() {
+		return cooldownProgress;
+	}
+
+	public void setCooldownProgress(double cooldownProgress) {
+		this.cooldownProgress = cooldownProgress;
+	}
+
+	public boolean isStrong() {
+		return strong;
+	}
+
+	public void setStrong(boolean strong) {
+		this.strong = strong;
+	}
+
+	public boolean isSprint() {
+		return sprint;
+	}
+
+	public void setSprint(boolean sprint) {
+		this.sprint = sprint;
+	}
+
+	public boolean isCritical() {
+		return critical;
+	}
+
+	public void setCritical(boolean critical) {
+		this.critical = critical;
+	}
+
+	public boolean isSweeping() {
+		return sweeping;
+	}
+
+	public void setSweeping(boolean sweeping) {
+		this.sweeping = sweeping;
+	}
+
+	public int getKnockback() {
+		return knockback;
+	}
+
+	public void setKnockback(int knockback) {
+		this.knockback = knockback;
+	}
+
+	public int getFireAspect() {
+		return fireAspect;
+	}
+
+	public void setFireAspect(int fireAspect) {
+		this.fireAspect = fireAspect;
+	}
+
+	public boolean hasSounds() {
+		return sounds;
+	}
+
+	public void setSounds(boolean sounds) {
+		this.sounds = sounds;
+	}
+
+	public boolean playSoundsOnFail() {
+		return playSoundsOnFail;
+	}
+
+	public void setPlaySoundsOnFail(boolean playSoundsOnFail) {
+		this.playSoundsOnFail = playSoundsOnFail;
+	}
+
+	public AttackValues.PreCritical toPreCritical() {
+		return new AttackValues.PreCritical(
+				damage, magicalDamage, cooldownProgress,
+				strong, sprint, knockback, fireAspect
+		);
+	}
+
+	public AttackValues.PreSweeping toPreSweeping() {
+		return new AttackValues.PreSweeping(
+				damage, magicalDamage, cooldownProgress,
+				strong, sprint, critical, knockback, fireAspect
+		);
+	}
+
+	/**
+	 * @return the final values of a prepared attack
+	 */
+	public AttackValues.Final toFinal() {
+		return new AttackValues.Final(
+				damage, strong, sprint, knockback, critical,
+				magicalDamage > 0, fireAspect, sweeping, sounds, playSoundsOnFail
+		);
+	}
+
+	private static final class Pool {
+		private AttackContext[] contexts = new AttackContext[2];
+		private int depth;
+
+		AttackContext take() {
+			if (depth == contexts.length) contexts = Arrays.copyOf(contexts, depth * 2);
+
+			AttackContext context = contexts[depth];
+			if (context == null) {
+				context = new AttackContext();
+				contexts[depth] = context;
+			}
+
+			depth++;
+			return context;
+		}
+
+		void giveBack() {
+			depth--;
+		}
+	}
+}
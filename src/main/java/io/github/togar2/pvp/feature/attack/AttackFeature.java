@@ -18,4 +18,17 @@ public interface AttackFeature extends CombatFeature {
 	 * @return whether the attack was successful
 	 */
 	boolean performAttack(LivingEntity attacker, Entity target);
+	
+	/**
+	 * Performs an attack on the target entity with options.
+	 * Implementations which do not support options perform a normal attack.
+	 *
+	 * @param attacker the attacking entity
+	 * @param target the target entity
+	 * @param options the options for the attack
+	 * @return whether the attack was successful
+	 */
+	default boolean performAttack(LivingEntity attacker, Entity target, AttackOptions options) {
+		return performAttack(attacker, target);
+	}
 }
@@ -0,0 +1,96 @@
+package io.github.togar2.pvp.feature.attack;
+
+import net.minestom.server.entity.LivingEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Options for an attack performed through {@link CombatActions}.
+ * Options are immutable, so they can be created once and shared by many attackers.
+ */
+public final class AttackOptions {
+	/**
+	 * Calls all events and uses the attack cooldown and critical features.
+	 */
+	public static final AttackOptions DEFAULT = new AttackOptions(true, null, null);
+
+	private final boolean callEvents;
+	private final @Nullable CooldownHook cooldownHook;
+	private final @Nullable CriticalHook criticalHook;
+
+	private AttackOptions(boolean callEvents, @Nullable CooldownHook cooldownHook, @Nullable CriticalHook criticalHook) {
+		this.callEvents = callEvents;
+		this.cooldownHook = cooldownHook;
+		this.criticalHook = criticalHook;
+	}
+
+	/**
+	 * @return whether the {@code PrepareAttackEvent} and {@code FinalAttackEvent} are called
+	 */
+	public boolean callEvents() {
+		return callEvents;
+	}
+
+	public @Nullable CooldownHook getCooldownHook() {
+		return cooldownHook;
+	}
+
+	public @Nullable CriticalHook getCriticalHook() {
+		return criticalHook;
+	}
+
+	/**
+	 * Returns options which do or do not call the attack events.
+	 * Without events, attacks can not be cancelled or modified by listeners.
+	 *
+	 * @param callEvents whether to call the events
+	 * @return the new options
+	 */
+	public AttackOptions withEvents(boolean callEvents) {
+		return new AttackOptions(callEvents, cooldownHook, criticalHook);
+	}
+
+	/**
+	 * Returns options which determine the attack cooldown progress with a hook,
+	 * instead of the attack cooldown feature (which only tracks players).
+	 *
+	 * @param cooldownHook the hook, or null to use the attack cooldown feature
+	 * @return the new options
+	 */
+	public AttackOptions withCooldown(@Nullable CooldownHook cooldownHook) {
+		return new AttackOptions(callEvents, cooldownHook, criticalHook);
+	}
+
+	/**
+	 * Returns options which determine whether an attack is critical with a hook,
+	 * instead of the critical feature.
+	 *
+	 * @param criticalHook the hook, or null to use the critical feature
+	 * @return the new options
+	 */
+	public AttackOptions withCritical(@Nullable CriticalHook criticalHook) {
+		return new AttackOptions(callEvents, cooldownHook, criticalHook);
+	}
+
+	@FunctionalInterface
+	public interface CooldownHook {
+		/**
+		 * Gets the attack cooldown progress of an attacker, and resets it if the attacker keeps track of it.
+		 *
+		 * @param attacker the attacker
+		 * @return the attack cooldown progress, between 0.0 and 1.0
+		 */
+		double getCooldownProgress(LivingEntity attacker);
+	}
+
+	@FunctionalInterface
+	public interface CriticalHook {
+		/**
+		 * Determines whether an attack is critical.
+		 *
+		 * @param attacker the attacker
+		 * @param context the attack, with its critical and sweeping state not determined yet
+		 * @return whether the attack is critical
+		 */
+		boolean shouldCrit(LivingEntity attacker, AttackContext context);
+	}
+}
@@ -0,0 +1,115 @@
+package io.github.togar2.pvp.feature.attack;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.GameMode;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+import java.util.Arrays;
+
+/**
+ * Collects the attacks in one instance during a tick, so they can be resolved together at the end of the tick.
+ * <p>
+ * Attacks are resolved in the order they arrived in.
+ * Whether an attacker can still attack is decided for the whole batch before any attack is resolved,
+ * so an attacker killed by an earlier attack of the same tick still deals its own attack.
+ * This way the order does not decide who wins a trade of lethal hits.
+ */
+final class AttackQueue {
+	private static final Tag<AttackQueue> QUEUE = Tag.Transient("attackQueue");
+	private static final Object CREATION_LOCK = new Object();
+
+	private final Instance instance;
+
+	private Batch pending = new Batch();
+	private Batch spare = new Batch();
+	private boolean scheduled;
+
+	private AttackQueue(Instance instance) {
+		this.instance = instance;
+	}
+
+	static AttackQueue get(Instance instance) {
+		AttackQueue queue = instance.getTag(QUEUE);
+		if (queue != null) return queue;
+
+		synchronized (CREATION_LOCK) {
+			queue = instance.getTag(QUEUE);
+			if (queue == null) {
+				queue = new AttackQueue(instance);
+				instance.setTag(QUEUE, queue);
+			}
+			return queue;
+		}
+	}
+
+	synchronized void enqueue(Player attacker, Entity target, AttackFeature attackFeature) {
+		pending.add(attacker, target, attackFeature);
+
+		if (!scheduled) {
+			scheduled = true;
+			instance.scheduler().scheduleEndOfTick(this::resolve);
+		}
+	}
+
+	private void resolve() {
+		Batch batch;
+		synchronized (this) {
+			// Attacks queued while resolving are resolved at the end of the next tick
+			batch = pending;
+			pending = spare;
+			scheduled = false;
+		}
+
+		// The attacker might have changed since the attack was queued, but not because of this batch
+		for (int i = 0; i < batch.size; i++) {
+			Player attacker = batch.attackers[i];
+			batch.eligible[i] = !attacker.isRemoved() && !attacker.isDead() && attacker.getGameMode() != GameMode.SPECTATOR;
+		}
+
+		for (int i = 0; i < batch.size; i++) {
+			if (!batch.eligible[i]) continue;
+			Player attacker = batch.attackers[i];
+			Entity target = batch.targets[i];
+
+			if (attacker.isRemoved() || target.isRemoved() || target.getInstance() != attacker.getInstance()) continue;
+
+			batch.features[i].performAttack(attacker, target);
+		}
+
+		batch.clear();
+		synchronized (this) {
+			spare = batch;
+		}
+	}
+
+	private static final class Batch {
+		private boolean[] eligible = new boolean[16];
+		private Player[] attackers = new Player[16];
+		private Entity[] targets = new Entity[16];
+		private AttackFeature[] features = new AttackFeature[16];
+		private int size;
+
+		void add(Player attacker, Entity target, AttackFeature feature) {
+			if (size == attackers.length) {
+				eligible = Arrays.copyOf(eligible, size * 2);
+				attackers = Arrays.copyOf(attackers, size * 2);
+				targets = Arrays.copyOf(targets, size * 2);
+				features = Arrays.copyOf(features, size * 2);
+			}
+
+			attackers[size] = attacker;
+			targets[size] = target;
+			features[size] = feature;
+			size++;
+		}
+
+		void clear() {
+			Arrays.fill(attackers, 0, size, null);
+			Arrays.fill(targets, 0, size, null);
+			Arrays.fill(features, 0, size, null);
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package io.github.togar2.pvp.feature.attack;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+
+/**
+ * Entry point for making any living entity, like a bot or a boss, take part in combat
+ * through the same pipeline as players, including enchantments, criticals, sweeping and knockback.
+ * <p>
+ * No attack event is needed, and with {@link AttackOptions#withEvents(boolean)} the other events
+ * can be skipped as well, which keeps attacks of many non-player entities cheap.
+ */
+public final class CombatActions {
+	private final AttackFeature attackFeature;
+
+	private CombatActions(AttackFeature attackFeature) {
+		this.attackFeature = attackFeature;
+	}
+
+	/**
+	 * Creates combat actions using the features of a configuration, usually a {@code CombatFeatureSet}.
+	 *
+	 * @param configuration the configuration
+	 * @return the combat actions
+	 */
+	public static CombatActions of(FeatureConfiguration configuration) {
+		return new CombatActions(configuration.get(FeatureType.ATTACK));
+	}
+
+	/**
+	 * Makes an entity attack another entity.
+	 *
+	 * @param attacker the attacker
+	 * @param target the target
+	 * @return whether the attack was successful
+	 */
+	public boolean attack(LivingEntity attacker, Entity target) {
+		return attack(attacker, target, AttackOptions.DEFAULT);
+	}
+
+	/**
+	 * Makes an entity attack another entity.
+	 *
+	 * @param attacker the attacker
+	 * @param target the target
+	 * @param options the options for the attack
+	 * @return whether the attack was successful
+	 */
+	public boolean attack(LivingEntity attacker, Entity target, AttackOptions options) {
+		if (attacker.isRemoved() || attacker.isDead() || target.isRemoved()) return false;
+		return attackFeature.performAttack(attacker, target, options);
+	}
+}
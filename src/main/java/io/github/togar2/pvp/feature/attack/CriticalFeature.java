@@ -13,6 +13,11 @@ public interface CriticalFeature extends CombatFeature {
 			return false;
 		}
 		
+		@Override
+		public boolean shouldCrit(LivingEntity attacker, AttackContext context) {
+			return false;
+		}
+		
 		@Override
 		public float applyToDamage(float damage) {
 			return damage;
@@ -21,6 +26,18 @@ public interface CriticalFeature extends CombatFeature {
 	
 	boolean shouldCrit(LivingEntity attacker, AttackValues.PreCritical values);
 	
+	/**
+	 * Determines whether an attack which is being resolved is critical.
+	 * Implementations should override this to avoid creating the {@link AttackValues.PreCritical} record.
+	 *
+	 * @param attacker the attacker
+	 * @param context the attack, with its critical and sweeping state not determined yet
+	 * @return whether the attack is critical
+	 */
+	default boolean shouldCrit(LivingEntity attacker, AttackContext context) {
+		return shouldCrit(attacker, context.toPreCritical());
+	}
+	
 	/**
 	 * Determines the new damage amount when the attack was critical.
 	 *
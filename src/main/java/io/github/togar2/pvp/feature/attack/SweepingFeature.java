@@ -16,6 +16,11 @@ public interface SweepingFeature extends CombatFeature {
 			return false;
 		}
 		
+		@Override
+		public boolean shouldSweep(LivingEntity attacker, AttackContext context) {
+			return false;
+		}
+		
 		@Override
 		public float getSweepingDamage(LivingEntity attacker, float damage) {
 			return 0;
@@ -29,6 +34,18 @@ public interface SweepingFeature extends CombatFeature {
 	
 	boolean shouldSweep(LivingEntity attacker, AttackValues.PreSweeping values);
 	
+	/**
+	 * Determines whether an attack which is being resolved is a sweeping attack.
+	 * Implementations should override this to avoid creating the {@link AttackValues.PreSweeping} record.
+	 *
+	 * @param attacker the attacker
+	 * @param context the attack, with its sweeping state not determined yet
+	 * @return whether the attack sweeps
+	 */
+	default boolean shouldSweep(LivingEntity attacker, AttackContext context) {
+		return shouldSweep(attacker, context.toPreSweeping());
+	}
+	
 	float getSweepingDamage(LivingEntity attacker, float damage);
 	
 	/**
@@ -9,18 +9,21 @@ import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.cooldown.AttackCooldownFeature;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.feature.food.ExhaustionFeature;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
+import io.github.togar2.pvp.feature.reach.ReachFeature;
+import io.github.togar2.pvp.feature.recording.PendingKnockback;
+import io.github.togar2.pvp.feature.recording.RecorderFeature;
 import io.github.togar2.pvp.feature.weapon.MaceFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.utils.CombatVersion;
-import io.github.togar2.pvp.utils.ViewUtil;
-import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.*;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.Damage;
@@ -42,17 +45,39 @@ import java.util.List;
  * Vanilla implementation of {@link AttackFeature}
  * <p>
  * Listens on {@link EntityAttackEvent}
+ * <p>
+ * By default, attacks are resolved as soon as the attack packet is handled.
+ * When using {@link VanillaAttackFeature#QUEUED}, attacks which pass the reach check are queued instead,
+ * and all attacks in an instance are resolved together at the end of the tick, in the order they arrived in.
+ * An attacker killed by another attack of the same tick still deals its own attack,
+ * so players trading lethal hits in the same tick both land them, whichever packet was handled first.
  */
 public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaAttackFeature> DEFINED = new DefinedFeature<>(
 		FeatureType.ATTACK, VanillaAttackFeature::new,
 		FeatureType.ATTACK_COOLDOWN, FeatureType.EXHAUSTION, FeatureType.ITEM_DAMAGE,
-		FeatureType.ENCHANTMENT, FeatureType.CRITICAL, FeatureType.SWEEPING, FeatureType.KNOCKBACK, FeatureType.MACE, FeatureType.VERSION
+		FeatureType.ENCHANTMENT, FeatureType.CRITICAL, FeatureType.SWEEPING, FeatureType.KNOCKBACK, FeatureType.MACE, FeatureType.REACH, FeatureType.COSMETICS, FeatureType.RECORDER, FeatureType.VERSION
+	);
+	/**
+	 * @see VanillaAttackFeature
+	 */
+	public static final DefinedFeature<VanillaAttackFeature> QUEUED = new DefinedFeature<>(
+		FeatureType.ATTACK, configuration -> new VanillaAttackFeature(configuration, Mode.QUEUED),
+		FeatureType.ATTACK_COOLDOWN, FeatureType.EXHAUSTION, FeatureType.ITEM_DAMAGE,
+		FeatureType.ENCHANTMENT, FeatureType.CRITICAL, FeatureType.SWEEPING, FeatureType.KNOCKBACK, FeatureType.MACE, FeatureType.REACH, FeatureType.COSMETICS, FeatureType.RECORDER, FeatureType.VERSION
 	);
 
-	private static final double ATTACK_RANGE_MARGIN = 3.0;
+	private static final Sound NO_DAMAGE_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_NODAMAGE);
+	private static final Sound KNOCKBACK_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_KNOCKBACK);
+	private static final Sound SWEEP_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_SWEEP);
+	private static final Sound CRITICAL_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_CRIT);
+	private static final Sound STRONG_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_STRONG);
+	private static final Sound WEAK_SOUND = attackSound(SoundEvent.ENTITY_PLAYER_ATTACK_WEAK);
 
 	private final FeatureConfiguration configuration;
+	private final Mode mode;
+	// Subclasses which still override the deprecated prepareAttack keep being used through it
+	private final boolean legacyPrepare = overridesLegacyPrepare(getClass());
 
 	private AttackCooldownFeature cooldownFeature;
 	private ExhaustionFeature exhaustionFeature;
@@ -63,11 +88,33 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 	private SweepingFeature sweepingFeature;
 	private KnockbackFeature knockbackFeature;
 	private MaceFeature maceFeature;
+	private ReachFeature reachFeature;
+	private CosmeticsFeature cosmeticsFeature;
+	private RecorderFeature recorderFeature;
 
 	private CombatVersion version;
 
 	public VanillaAttackFeature(FeatureConfiguration configuration) {
+		this(configuration, Mode.IMMEDIATE);
+	}
+
+	public VanillaAttackFeature(FeatureConfiguration configuration, Mode mode) {
 		this.configuration = configuration;
+		this.mode = mode;
+	}
+
+	private static Sound attackSound(SoundEvent event) {
+		return Sound.sound(event, Sound.Source.PLAYER, 1.0f, 1.0f);
+	}
+
+	private static boolean overridesLegacyPrepare(Class<?> type) {
+		for (Class<?> current = type; current != VanillaAttackFeature.class; current = current.getSuperclass()) {
+			try {
+				current.getDeclaredMethod("prepareAttack", LivingEntity.class, Entity.class);
+				return true;
+			} catch (NoSuchMethodException ignored) {}
+		}
+		return false;
 	}
 
 	@Override
@@ -80,6 +127,9 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		this.sweepingFeature = configuration.get(FeatureType.SWEEPING);
 		this.knockbackFeature = configuration.get(FeatureType.KNOCKBACK);
 		this.maceFeature = configuration.get(FeatureType.MACE);
+		this.reachFeature = configuration.get(FeatureType.REACH);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
+		this.recorderFeature = configuration.get(FeatureType.RECORDER);
 		this.version = configuration.get(FeatureType.VERSION);
 	}
 
@@ -88,113 +138,124 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		node.addListener(EntityAttackEvent.class, event -> {
 			if (event.getEntity() instanceof Player player && player.getGameMode() != GameMode.SPECTATOR && !player.isDead()) {
 				Entity target = event.getTarget();
-				double maxDistanceSquared = Math.pow(player.getAttributeValue(Attribute.ENTITY_INTERACTION_RANGE) + ATTACK_RANGE_MARGIN, 2);
-				if (player.getPosition().distanceSquared(target.getPosition().add(0, target.getEyeHeight(), 0)) < maxDistanceSquared)
-					performAttack(player, target);
+				if (!reachFeature.checkReach(player, target).isValid()) return;
+
+				switch (mode) {
+					case IMMEDIATE -> performAttack(player, target);
+					case QUEUED -> AttackQueue.get(event.getInstance()).enqueue(player, target, this);
+				}
 			}
 		});
 	}
 
 	@Override
 	public boolean performAttack(LivingEntity attacker, Entity target) {
-		PrepareAttackEvent prepareAttackEvent = new PrepareAttackEvent(attacker, target);
-		EventDispatcher.call(prepareAttackEvent);
-		if (prepareAttackEvent.isCancelled()) return false;
-		AttackValues.Final attack = prepareAttack(attacker, target);
-		if (attack == null) return false; // Event cancelled
+		return performAttack(attacker, target, AttackOptions.DEFAULT);
+	}
+
+	@Override
+	public boolean performAttack(LivingEntity attacker, Entity target, AttackOptions options) {
+		if (options.callEvents()) {
+			PrepareAttackEvent prepareAttackEvent = new PrepareAttackEvent(attacker, target);
+			EventDispatcher.call(prepareAttackEvent);
+			if (prepareAttackEvent.isCancelled()) return false;
+		}
+
+		AttackContext context = AttackContext.acquire(attacker, target);
+		context.setOptions(options);
+		try {
+			if (!prepareAttack(context)) return false; // Event cancelled
+			return applyAttack(context);
+		} finally {
+			AttackContext.release(context);
+		}
+	}
+
+	protected boolean applyAttack(AttackContext context) {
+		LivingEntity attacker = context.getAttacker();
+		Entity target = context.getTarget();
 
 		float originalHealth = 0;
 		boolean damageSucceeded = false;
+		Damage damage = null;
 		if (target instanceof LivingEntity livingTarget) {
 			originalHealth = livingTarget.getHealth();
-			damageSucceeded = livingTarget.damage(new Damage(
+			damage = new Damage(
 				attacker instanceof Player ? DamageType.PLAYER_ATTACK : DamageType.MOB_ATTACK,
 				attacker, attacker,
-				null, attack.damage()
-			));
+				null, context.getDamage()
+			);
+			// The hit is recorded below, so the record includes the attack knockback
+			if (recorderFeature != RecorderFeature.NO_OP) PendingKnockback.get(livingTarget).begin(damage);
+			damageSucceeded = livingTarget.damage(damage);
 		}
 
 		if (!damageSucceeded) {
+			if (damage != null && recorderFeature != RecorderFeature.NO_OP)
+				PendingKnockback.get((LivingEntity) target).clear();
+
 			// No damage sound
-			if (attack.sounds() && attack.playSoundsOnFail()) {
-				ViewUtil.viewersAndSelf(attacker).playSound(Sound.sound(
-					SoundEvent.ENTITY_PLAYER_ATTACK_NODAMAGE, Sound.Source.PLAYER,
-					1.0f, 1.0f
-				), attacker);
+			if (context.hasSounds() && context.playSoundsOnFail()) {
+				cosmeticsFeature.playSound(attacker, NO_DAMAGE_SOUND);
 			}
 			return false;
 		}
 
 		// Target is always living now, because the damage would not have succeeded if it wasn't
 		LivingEntity living = (LivingEntity) target;
-		Collection<LivingEntity> affectedEntities = List.of(living);
 
 		// Handle mace smash attack
-		Tool tool = Tool.fromMaterial(attacker.getItemInMainHand().material());
+		Tool tool = context.getTool();
 		boolean maceSmash = tool != null && tool.isMace() && maceFeature.canSmashAttack(attacker);
 		if (maceSmash) {
 			maceFeature.applySmashAttackEffects(attacker, target);
 		}
 
 		// Knockback and sweeping
-		knockbackFeature.applyAttackKnockback(attacker, living, attack.knockback());
-		if (attack.sweeping()) {
-			affectedEntities = sweepingFeature.applySweeping(attacker, living, attack.damage());
-			affectedEntities.add(living);
+		if (recorderFeature == RecorderFeature.NO_OP) {
+			knockbackFeature.applyAttackKnockback(attacker, living, context.getKnockback());
+		} else {
+			Vec velocity = living.getVelocity();
+			knockbackFeature.applyAttackKnockback(attacker, living, context.getKnockback());
+			PendingKnockback pending = PendingKnockback.get(living);
+			if (pending.isPendingFor(damage)) {
+				Vec newVelocity = living.getVelocity();
+				recorderFeature.recordDamage(living, damage,
+						pending.getX() + (newVelocity.x() - velocity.x()),
+						pending.getY() + (newVelocity.y() - velocity.y()),
+						pending.getZ() + (newVelocity.z() - velocity.z()));
+				pending.clear();
+			}
 		}
+		Collection<LivingEntity> sweptEntities = context.isSweeping()
+			? sweepingFeature.applySweeping(attacker, living, context.getDamage())
+			: List.of();
 
 		if (target instanceof CombatPlayer custom)
 			custom.sendImmediateVelocityUpdate();
 
 		// Play attack sounds
-		if (attack.sounds()) {
-			Audience audience = attacker.getViewersAsAudience();
-			if (attacker instanceof Player player)
-				audience = Audience.audience(audience, player);
-
-			if (attack.sprint()) audience.playSound(Sound.sound(
-				SoundEvent.ENTITY_PLAYER_ATTACK_KNOCKBACK, Sound.Source.PLAYER,
-				1.0f, 1.0f
-			), attacker);
-
-			if (attack.sweeping()) audience.playSound(Sound.sound(
-				SoundEvent.ENTITY_PLAYER_ATTACK_SWEEP, Sound.Source.PLAYER,
-				1.0f, 1.0f
-			), attacker);
-
-			if (attack.critical()) audience.playSound(Sound.sound(
-				SoundEvent.ENTITY_PLAYER_ATTACK_CRIT, Sound.Source.PLAYER,
-				1.0f, 1.0f
-			), attacker);
-
-			if (!attack.critical() && !attack.sweeping()) audience.playSound(Sound.sound(
-				attack.strong() ?
-					SoundEvent.ENTITY_PLAYER_ATTACK_STRONG :
-					SoundEvent.ENTITY_PLAYER_ATTACK_WEAK,
-				Sound.Source.PLAYER, 1.0f, 1.0f
-			), attacker);
+		if (context.hasSounds()) {
+			if (context.isSprint()) cosmeticsFeature.playSound(attacker, KNOCKBACK_SOUND);
+			if (context.isSweeping()) cosmeticsFeature.playSound(attacker, SWEEP_SOUND);
+			if (context.isCritical()) cosmeticsFeature.playSound(attacker, CRITICAL_SOUND);
+			if (!context.isCritical() && !context.isSweeping())
+				cosmeticsFeature.playSound(attacker, context.isStrong() ? STRONG_SOUND : WEAK_SOUND);
 		}
 
 		// Play attack effects
-		if (attack.critical()) attacker.sendPacketToViewersAndSelf(new EntityAnimationPacket(
+		if (context.isCritical()) cosmeticsFeature.sendPacket(attacker, new EntityAnimationPacket(
 			target.getEntityId(),
 			EntityAnimationPacket.Animation.CRITICAL_EFFECT
 		));
-		if (attack.magical()) attacker.sendPacketToViewersAndSelf(new EntityAnimationPacket(
+		if (context.getMagicalDamage() > 0) cosmeticsFeature.sendPacket(attacker, new EntityAnimationPacket(
 			target.getEntityId(),
 			EntityAnimationPacket.Animation.MAGICAL_CRITICAL_EFFECT
 		));
 
-		for (LivingEntity affectedEntity : affectedEntities) {
-			// Thorns
-			enchantmentFeature.onUserDamaged(affectedEntity, attacker);
-			enchantmentFeature.onTargetDamaged(attacker, affectedEntity);
-
-			if (attack.fireAspect() > 0) {
-				for (LivingEntity entity : affectedEntities) {
-					entity.setFireTicks(attack.fireAspect() * 4 * ServerFlag.SERVER_TICKS_PER_SECOND);
-				}
-			}
+		applyToAffected(context, living);
+		for (LivingEntity sweptEntity : sweptEntities) {
+			applyToAffected(context, sweptEntity);
 		}
 
 		// Damage item (mace, swords, and trident take 1 durability)
@@ -211,7 +272,7 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		if (damageDone > 2) {
 			int particleCount = (int) (damageDone * 0.5);
 			Pos targetPosition = target.getPosition();
-			target.sendPacketToViewersAndSelf(new ParticlePacket(
+			cosmeticsFeature.sendPacket(target, new ParticlePacket(
 				Particle.DAMAGE_INDICATOR, false, false,
 				targetPosition.x(), targetPosition.y() + target.getBoundingBox().height() * 0.5, targetPosition.z(),
 				0.1f, 0, 0.1f,
@@ -225,7 +286,72 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		return true;
 	}
 
+	/**
+	 * Applies the enchantment effects of an attack to the target or an entity hit by its sweep.
+	 */
+	protected void applyToAffected(AttackContext context, LivingEntity affectedEntity) {
+		LivingEntity attacker = context.getAttacker();
+
+		// Thorns
+		enchantmentFeature.onUserDamaged(affectedEntity, attacker);
+		enchantmentFeature.onTargetDamaged(attacker, affectedEntity);
+
+		if (context.getFireAspect() > 0) {
+			affectedEntity.setFireTicks(context.getFireAspect() * 4 * ServerFlag.SERVER_TICKS_PER_SECOND);
+		}
+	}
+
+	/**
+	 * Determines the values of an attack and stores them in the context.
+	 * If a subclass overrides {@link #prepareAttack(LivingEntity, Entity)}, the values are taken from that method instead.
+	 *
+	 * @return false if the attack was cancelled
+	 */
+	protected boolean prepareAttack(AttackContext context) {
+		if (!legacyPrepare) return prepareValues(context);
+
+		AttackValues.Final values = prepareAttack(context.getAttacker(), context.getTarget());
+		if (values == null) return false; // Event cancelled
+
+		context.setTool(Tool.fromMaterial(context.getAttacker().getItemInMainHand().material()));
+		context.setDamage(values.damage());
+		// The magical damage is already part of the damage, only whether there was any is known
+		context.setMagicalDamage(values.magical() ? 1 : 0);
+		context.setStrong(values.strong());
+		context.setSprint(values.sprint());
+		context.setCritical(values.critical());
+		context.setSweeping(values.sweeping());
+		context.setKnockback(values.knockback());
+		context.setFireAspect(values.fireAspect());
+		context.setSounds(values.sounds());
+		context.setPlaySoundsOnFail(values.playSoundsOnFail());
+		return true;
+	}
+
+	/**
+	 * Determines the values of an attack.
+	 * The attack is prepared with the default {@link AttackOptions}.
+	 *
+	 * @return the values of the attack, or null if the attack was cancelled
+	 * @deprecated override {@link #prepareAttack(AttackContext)} instead, which does not allocate the values
+	 */
+	@Deprecated
 	protected @Nullable AttackValues.Final prepareAttack(LivingEntity attacker, Entity target) {
+		AttackContext context = AttackContext.acquire(attacker, target);
+		try {
+			return prepareValues(context) ? context.toFinal() : null;
+		} finally {
+			AttackContext.release(context);
+		}
+	}
+
+	private boolean prepareValues(AttackContext context) {
+		LivingEntity attacker = context.getAttacker();
+		Entity target = context.getTarget();
+		AttackOptions options = context.getOptions();
+
+		context.setTool(Tool.fromMaterial(attacker.getItemInMainHand().material()));
+
 		float damage = (float) attacker.getAttributeValue(Attribute.ATTACK_DAMAGE);
 		float magicalDamage = enchantmentFeature.getAttackDamage(
 			attacker.getItemInMainHand(),
@@ -233,7 +359,10 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		);
 
 		double cooldownProgress = 1;
-		if (attacker instanceof Player player) {
+		AttackOptions.CooldownHook cooldownHook = options.getCooldownHook();
+		if (cooldownHook != null) {
+			cooldownProgress = cooldownHook.getCooldownProgress(attacker);
+		} else if (attacker instanceof Player player) {
 			cooldownProgress = cooldownFeature.getAttackCooldownProgress(player);
 			cooldownFeature.resetCooldownProgress(player);
 		}
@@ -244,54 +373,71 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 
 		// Calculate attacks
 		boolean strongAttack = cooldownProgress > 0.9;
-		boolean sprintAttack = attacker.isSprinting() && strongAttack;
-		int knockback = enchantmentFeature.getKnockback(attacker);
-		int fireAspect = enchantmentFeature.getFireAspect(attacker);
-
-		// Use features to determine critical and sweeping
-		AttackValues.PreCritical preCritical = new AttackValues.PreCritical(
-			damage, magicalDamage, cooldownProgress,
-			strongAttack, sprintAttack, knockback, fireAspect
-		);
-		AttackValues.PreSweeping preSweeping = preCritical.withCritical(criticalFeature.shouldCrit(attacker, preCritical));
-		AttackValues.PreSounds preSounds = preSweeping.withSweeping(sweepingFeature.shouldSweep(attacker, preSweeping));
-
-		boolean critical = preSounds.critical();
-		boolean sweeping = preSounds.sweeping();
+		context.setDamage(damage);
+		context.setMagicalDamage(magicalDamage);
+		context.setCooldownProgress(cooldownProgress);
+		context.setStrong(strongAttack);
+		context.setSprint(attacker.isSprinting() && strongAttack);
+		context.setKnockback(enchantmentFeature.getKnockback(attacker));
+		context.setFireAspect(enchantmentFeature.getFireAspect(attacker));
+
+		// Use features (or the hook of the options) to determine critical and sweeping
+		AttackOptions.CriticalHook criticalHook = options.getCriticalHook();
+		context.setCritical(criticalHook != null
+			? criticalHook.shouldCrit(attacker, context)
+			: criticalFeature.shouldCrit(attacker, context));
+		context.setSweeping(sweepingFeature.shouldSweep(attacker, context));
 
 		boolean sounds = version.modern();
-
-		// Call event which can modify attack values
-		FinalAttackEvent finalAttackEvent = new FinalAttackEvent(
-			attacker, target, sprintAttack, critical, sweeping, damage,
-			magicalDamage, sounds, sounds
-		);
-		EventDispatcher.call(finalAttackEvent);
-		if (finalAttackEvent.isCancelled()) return null;
-
-		sprintAttack = finalAttackEvent.isSprint();
-		critical = finalAttackEvent.isCritical();
-		sweeping = finalAttackEvent.isSweeping();
-		damage = finalAttackEvent.getBaseDamage();
-		magicalDamage = finalAttackEvent.getEnchantsExtraDamage();
+		context.setSounds(sounds);
+		context.setPlaySoundsOnFail(sounds);
+
+		if (options.callEvents()) {
+			// Call event which can modify attack values
+			FinalAttackEvent finalAttackEvent = new FinalAttackEvent(
+				attacker, target, context.isSprint(), context.isCritical(), context.isSweeping(), damage,
+				magicalDamage, sounds, sounds
+			);
+			EventDispatcher.call(finalAttackEvent);
+			if (finalAttackEvent.isCancelled()) return false;
+
+			context.setSprint(finalAttackEvent.isSprint());
+			context.setCritical(finalAttackEvent.isCritical());
+			context.setSweeping(finalAttackEvent.isSweeping());
+			context.setSounds(finalAttackEvent.hasAttackSounds());
+			context.setPlaySoundsOnFail(finalAttackEvent.playSoundsOnFail());
+			damage = finalAttackEvent.getBaseDamage();
+			magicalDamage = finalAttackEvent.getEnchantsExtraDamage();
+			context.setMagicalDamage(magicalDamage);
+		}
 
 		// Apply critical damage and knockback
-		if (critical) damage = criticalFeature.applyToDamage(damage);
+		if (context.isCritical()) damage = criticalFeature.applyToDamage(damage);
 		damage += magicalDamage;
 
 		// Add mace bonus damage from fall distance
-		Tool weapon = Tool.fromMaterial(attacker.getItemInMainHand().material());
+		Tool weapon = context.getTool();
 		if (weapon != null && weapon.isMace()) {
 			damage += maceFeature.getBonusDamage(attacker);
 		}
+		context.setDamage(damage);
 
-		if (sprintAttack) knockback++;
+		if (context.isSprint()) context.setKnockback(context.getKnockback() + 1);
 
-		return new AttackValues.Final(
-			damage, strongAttack, sprintAttack, knockback, critical,
-			magicalDamage > 0, fireAspect, sweeping,
-			finalAttackEvent.hasAttackSounds(),
-			finalAttackEvent.playSoundsOnFail()
-		);
+		return true;
+	}
+
+	/**
+	 * The moment an attack is resolved at.
+	 */
+	public enum Mode {
+		/**
+		 * The attack is resolved as soon as the attack packet is handled.
+		 */
+		IMMEDIATE,
+		/**
+		 * The attack is resolved at the end of the tick.
+		 */
+		QUEUED
 	}
 }
@@ -39,12 +39,21 @@ public class VanillaCriticalFeature implements CriticalFeature {
 	
 	@Override
 	public boolean shouldCrit(LivingEntity attacker, AttackValues.PreCritical values) {
+		return shouldCrit(attacker, values.strong());
+	}
+	
+	@Override
+	public boolean shouldCrit(LivingEntity attacker, AttackContext context) {
+		return shouldCrit(attacker, context.isStrong());
+	}
+	
+	protected boolean shouldCrit(LivingEntity attacker, boolean strong) {
 		double fallDistance = attacker.hasTag(VanillaFallFeature.FALL_DISTANCE)
 				? attacker.getTag(VanillaFallFeature.FALL_DISTANCE) : 0;
 		boolean inWater = attacker instanceof Player player && FluidUtil.isTouchingWater(player);
 		boolean mobilityRestricted = attacker.hasEffect(PotionEffect.BLINDNESS);
 
-		boolean critical = values.strong() && !playerStateFeature.isClimbing(attacker)
+		boolean critical = strong && !playerStateFeature.isClimbing(attacker)
 				&& fallDistance > 0 && !attacker.isOnGround()
 				&& !inWater && !mobilityRestricted
 				&& attacker.getVehicle() == null;
@@ -5,11 +5,13 @@ import io.github.togar2.pvp.enums.Tool;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
+import io.github.togar2.pvp.feature.spatial.CombatantBuffer;
+import io.github.togar2.pvp.feature.spatial.SpatialIndexFeature;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Pos;
-import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
@@ -29,13 +31,15 @@ import java.util.List;
 public class VanillaSweepingFeature implements SweepingFeature {
 	public static final DefinedFeature<VanillaSweepingFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.SWEEPING, VanillaSweepingFeature::new,
-			FeatureType.ENCHANTMENT, FeatureType.KNOCKBACK
+			FeatureType.ENCHANTMENT, FeatureType.KNOCKBACK, FeatureType.COSMETICS, FeatureType.SPATIAL_INDEX
 	);
 	
 	private final FeatureConfiguration configuration;
 	
 	private EnchantmentFeature enchantmentFeature;
 	private KnockbackFeature knockbackFeature;
+	private CosmeticsFeature cosmeticsFeature;
+	private SpatialIndexFeature spatialIndexFeature;
 	
 	public VanillaSweepingFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -45,11 +49,22 @@ public class VanillaSweepingFeature implements SweepingFeature {
 	public void initDependencies() {
 		this.enchantmentFeature = configuration.get(FeatureType.ENCHANTMENT);
 		this.knockbackFeature = configuration.get(FeatureType.KNOCKBACK);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
+		this.spatialIndexFeature = configuration.get(FeatureType.SPATIAL_INDEX);
 	}
 	
 	@Override
 	public boolean shouldSweep(LivingEntity attacker, AttackValues.PreSweeping values) {
-		if (!values.strong() || values.critical() || values.sprint() || !attacker.isOnGround()) return false;
+		return shouldSweep(attacker, values.strong(), values.critical(), values.sprint());
+	}
+	
+	@Override
+	public boolean shouldSweep(LivingEntity attacker, AttackContext context) {
+		return shouldSweep(attacker, context.isStrong(), context.isCritical(), context.isSprint());
+	}
+	
+	protected boolean shouldSweep(LivingEntity attacker, boolean strong, boolean critical, boolean sprint) {
+		if (!strong || critical || sprint || !attacker.isOnGround()) return false;
 
 		Pos prev = attacker.getPreviousPosition();
 		Pos curr = attacker.getPosition();
@@ -78,26 +93,38 @@ public class VanillaSweepingFeature implements SweepingFeature {
 		// Loop and check for colliding entities
 		List<LivingEntity> affectedEntities = new ArrayList<>();
 		BoundingBox boundingBox = target.getBoundingBox().expand(1.0, 0.25, 1.0);
+		Pos targetPosition = target.getPosition();
 		assert target.getInstance() != null;
-		for (Entity nearbyEntity : target.getInstance().getNearbyEntities(target.getPosition(), 2)) {
-			if (nearbyEntity == target || nearbyEntity == attacker) continue;
-			if (!(nearbyEntity instanceof LivingEntity living)) continue;
-			if (nearbyEntity.getEntityType() == EntityType.ARMOR_STAND) continue;
-			if (!boundingBox.intersectEntity(target.getPosition(), nearbyEntity)) continue;
+		
+		CombatantBuffer nearbyEntities = CombatantBuffer.acquire();
+		try {
+			spatialIndexFeature.queryBox(target.getInstance(),
+					targetPosition.x() + boundingBox.minX(), targetPosition.y() + boundingBox.minY(),
+					targetPosition.z() + boundingBox.minZ(), targetPosition.x() + boundingBox.maxX(),
+					targetPosition.y() + boundingBox.maxY(), targetPosition.z() + boundingBox.maxZ(),
+					nearbyEntities);
 			
-			if (attacker.getPosition().distanceSquared(nearbyEntity.getPosition()) < 9.0) {
-				affectedEntities.add(living);
-				knockbackFeature.applySweepingKnockback(attacker, living);
-
-				float currentDamage = sweepingDamage + enchantmentFeature.getAttackDamage(
-						attacker.getItemInMainHand(), EntityGroup.ofEntity(living));
+			for (int i = 0; i < nearbyEntities.size(); i++) {
+				LivingEntity living = nearbyEntities.get(i);
+				if (living == target || living == attacker) continue;
+				if (living.getEntityType() == EntityType.ARMOR_STAND) continue;
 				
-				living.damage(new Damage(
-						attacker instanceof Player ? DamageType.PLAYER_ATTACK : DamageType.MOB_ATTACK,
-						attacker, attacker,
-						null, currentDamage
-				));
+				if (attacker.getPosition().distanceSquared(living.getPosition()) < 9.0) {
+					affectedEntities.add(living);
+					knockbackFeature.applySweepingKnockback(attacker, living);
+					
+					float currentDamage = sweepingDamage + enchantmentFeature.getAttackDamage(
+							attacker.getItemInMainHand(), EntityGroup.ofEntity(living));
+					
+					living.damage(new Damage(
+							attacker instanceof Player ? DamageType.PLAYER_ATTACK : DamageType.MOB_ATTACK,
+							attacker, attacker,
+							null, currentDamage
+					));
+				}
 			}
+		} finally {
+			nearbyEntities.release();
 		}
 		
 		// Spawn sweeping particles
@@ -105,7 +132,7 @@ public class VanillaSweepingFeature implements SweepingFeature {
 		double x = -Math.sin(Math.toRadians(pos.yaw()));
 		double z = Math.cos(Math.toRadians(pos.yaw()));
 		
-		attacker.sendPacketToViewersAndSelf(new ParticlePacket(
+		cosmeticsFeature.sendPacket(attacker, new ParticlePacket(
 				Particle.SWEEP_ATTACK, false,false,
 				pos.x() + x, pos.y() + attacker.getBoundingBox().height() * 0.5, pos.z() + z,
 				(float) x, 0, (float) z,
@@ -0,0 +1,78 @@
+package io.github.togar2.pvp.feature.attributes;
+
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.entity.attribute.AttributeModifier;
+
+import java.util.Map;
+
+/**
+ * An immutable set of attribute modifiers which an item applies to its holder, at most one per attribute.
+ * <p>
+ * Bundles are applied as a difference to the previously applied bundle:
+ * modifiers which are present in both with the same value are left untouched,
+ * so switching between items with identical stats does not change any attribute.
+ */
+public final class ModifierBundle {
+	public static final ModifierBundle EMPTY = new ModifierBundle(new Attribute[0], new AttributeModifier[0]);
+
+	private final Attribute[] attributes;
+	private final AttributeModifier[] modifiers;
+
+	private ModifierBundle(Attribute[] attributes, AttributeModifier[] modifiers) {
+		this.attributes = attributes;
+		this.modifiers = modifiers;
+	}
+
+	public static ModifierBundle of(Map<Attribute, AttributeModifier> modifiers) {
+		if (modifiers.isEmpty()) return EMPTY;
+
+		Attribute[] attributes = new Attribute[modifiers.size()];
+		AttributeModifier[] values = new AttributeModifier[modifiers.size()];
+		int i = 0;
+		for (Map.Entry<Attribute, AttributeModifier> entry : modifiers.entrySet()) {
+			attributes[i] = entry.getKey();
+			values[i] = entry.getValue();
+			i++;
+		}
+
+		return new ModifierBundle(attributes, values);
+	}
+
+	public boolean isEmpty() {
+		return attributes.length == 0;
+	}
+
+	/**
+	 * Applies this bundle to an entity, replacing the previously applied bundle.
+	 * Only the modifiers which differ between both bundles are removed or added.
+	 *
+	 * @param entity the entity
+	 * @param previous the bundle which was applied before
+	 */
+	public void apply(LivingEntity entity, ModifierBundle previous) {
+		if (previous == this) return;
+
+		for (int i = 0; i < previous.attributes.length; i++) {
+			AttributeModifier old = previous.modifiers[i];
+			int index = indexOf(previous.attributes[i]);
+			if (index >= 0 && modifiers[index].equals(old)) continue;
+
+			entity.getAttribute(previous.attributes[i]).removeModifier(old.id());
+		}
+
+		for (int i = 0; i < attributes.length; i++) {
+			int index = previous.indexOf(attributes[i]);
+			if (index >= 0 && previous.modifiers[index].equals(modifiers[i])) continue;
+
+			entity.getAttribute(attributes[i]).addModifier(modifiers[i]);
+		}
+	}
+
+	private int indexOf(Attribute attribute) {
+		for (int i = 0; i < attributes.length; i++) {
+			if (attributes[i] == attribute) return i;
+		}
+		return -1;
+	}
+}
@@ -7,16 +7,30 @@ import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.utils.CombatVersion;
+import net.kyori.adventure.key.Key;
+import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.entity.attribute.AttributeModifier;
+import net.minestom.server.entity.attribute.AttributeOperation;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.item.EntityEquipEvent;
 import net.minestom.server.event.player.PlayerChangeHeldSlotEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Vanilla implementation of {@link EquipmentFeature}
+ * <p>
+ * The default attribute modifiers of every tool and armor piece are resolved for the combat version
+ * when the feature is initialized. Equipment changes then only apply the difference between
+ * the modifiers of the old and the new item, see {@link ModifierBundle}.
  */
 public class VanillaEquipmentFeature implements EquipmentFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaEquipmentFeature> DEFINED = new DefinedFeature<>(
@@ -26,10 +40,12 @@ public class VanillaEquipmentFeature implements EquipmentFeature, RegistrableFea
 	
 	private final FeatureConfiguration configuration;
 	
-	//TODO this probably shouldn't work this way
-	// We probably want to store all the tools & armor separately per DataFeature
 	private CombatVersion version;
 	
+	// Indexed by material id, null if the material has no default modifiers
+	private ModifierBundle[] toolBundles;
+	private ModifierBundle[] armorBundles;
+	
 	public VanillaEquipmentFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
 	}
@@ -37,6 +53,38 @@ public class VanillaEquipmentFeature implements EquipmentFeature, RegistrableFea
 	@Override
 	public void initDependencies() {
 		this.version = configuration.get(FeatureType.VERSION);
+		
+		int size = 0;
+		for (Material material : Material.values()) {
+			size = Math.max(size, material.id() + 1);
+		}
+		
+		this.toolBundles = new ModifierBundle[size];
+		this.armorBundles = new ModifierBundle[size];
+		for (Material material : Material.values()) {
+			Tool tool = Tool.fromMaterial(material);
+			if (tool != null) toolBundles[material.id()] = ModifierBundle.of(tool.getAttributeModifiers(version));
+			
+			ArmorMaterial armorMaterial = ArmorMaterial.fromMaterial(material);
+			if (armorMaterial != null) armorBundles[material.id()] = createArmorBundle(material, armorMaterial);
+		}
+	}
+	
+	protected ModifierBundle createArmorBundle(Material material, ArmorMaterial armorMaterial) {
+		EquipmentSlot slot = ArmorMaterial.getRequiredSlot(material);
+		Key modifierId = ArmorMaterial.getModifierId(slot);
+		
+		Map<Attribute, AttributeModifier> modifiers = new HashMap<>();
+		modifiers.put(Attribute.ARMOR, new AttributeModifier(modifierId,
+				armorMaterial.getProtectionAmount(slot, version), AttributeOperation.ADD_VALUE));
+		modifiers.put(Attribute.ARMOR_TOUGHNESS, new AttributeModifier(modifierId,
+				armorMaterial.getToughness(), AttributeOperation.ADD_VALUE));
+		if (armorMaterial.getKnockbackResistance() > 0) {
+			modifiers.put(Attribute.KNOCKBACK_RESISTANCE, new AttributeModifier(modifierId,
+					armorMaterial.getKnockbackResistance(), AttributeOperation.ADD_VALUE));
+		}
+		
+		return ModifierBundle.of(modifiers);
 	}
 	
 	@Override
@@ -45,7 +93,7 @@ public class VanillaEquipmentFeature implements EquipmentFeature, RegistrableFea
 		node.addListener(PlayerChangeHeldSlotEvent.class, event -> {
 			LivingEntity entity = event.getPlayer();
 			ItemStack newItem = event.getPlayer().getInventory().getItemStack(event.getNewSlot());
-			Tool.updateEquipmentAttributes(entity, entity.getEquipment(EquipmentSlot.MAIN_HAND), newItem, EquipmentSlot.MAIN_HAND, version);
+			updateAttributes(entity, entity.getEquipment(EquipmentSlot.MAIN_HAND), newItem, EquipmentSlot.MAIN_HAND);
 		});
 	}
 	
@@ -53,10 +101,39 @@ public class VanillaEquipmentFeature implements EquipmentFeature, RegistrableFea
 		if (!(event.getEntity() instanceof LivingEntity entity)) return;
 		
 		EquipmentSlot slot = event.getSlot();
-		if (slot.isArmor()) {
-			ArmorMaterial.updateEquipmentAttributes(entity, entity.getEquipment(slot), event.getEquippedItem(), slot, version);
-		} else if (slot.isHand()) {
-			Tool.updateEquipmentAttributes(entity, entity.getEquipment(slot), event.getEquippedItem(), slot, version);
+		updateAttributes(entity, entity.getEquipment(slot), event.getEquippedItem(), slot);
+	}
+	
+	protected void updateAttributes(LivingEntity entity, ItemStack oldStack, ItemStack newStack, EquipmentSlot slot) {
+		ModifierBundle oldBundle = getBundle(oldStack, slot);
+		ModifierBundle newBundle = getBundle(newStack, slot);
+		newBundle.apply(entity, oldBundle);
+	}
+	
+	/**
+	 * Gets the default modifiers an item applies when it is in the given slot.
+	 *
+	 * @param stack the item
+	 * @param slot the slot the item is in
+	 * @return the modifiers, or {@link ModifierBundle#EMPTY} if the item does not apply any
+	 */
+	public ModifierBundle getBundle(ItemStack stack, EquipmentSlot slot) {
+		ModifierBundle bundle;
+		if (slot == EquipmentSlot.MAIN_HAND) {
+			bundle = toolBundles[stack.material().id()];
+		} else if (slot.isArmor() && slot == ArmorMaterial.getRequiredSlot(stack.material())) {
+			bundle = armorBundles[stack.material().id()];
+		} else {
+			return ModifierBundle.EMPTY;
 		}
+		
+		if (bundle == null || !hasDefaultAttributes(stack)) return ModifierBundle.EMPTY;
+		return bundle;
+	}
+	
+	private static boolean hasDefaultAttributes(ItemStack stack) {
+		// When modifiers tag is not empty, default modifiers are not
+		return !stack.has(DataComponents.ATTRIBUTE_MODIFIERS)
+				|| Objects.requireNonNull(stack.get(DataComponents.ATTRIBUTE_MODIFIERS)).modifiers().isEmpty();
 	}
 }
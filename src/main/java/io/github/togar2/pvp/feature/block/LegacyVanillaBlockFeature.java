@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.feature.block;
 
+import io.github.togar2.pvp.enums.Tool;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
@@ -116,6 +117,7 @@ public class LegacyVanillaBlockFeature extends VanillaBlockFeature
 	
 	@Override
 	public boolean canBlockWith(Player player, ItemStack stack) {
-		return stack.material().registry().key().value().contains("sword");
+		Tool tool = Tool.fromMaterial(stack.material());
+		return tool != null && tool.isSword();
 	}
 }
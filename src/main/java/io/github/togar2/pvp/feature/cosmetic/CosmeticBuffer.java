@@ -0,0 +1,82 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.play.BundlePacket;
+import net.minestom.server.tag.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the cosmetic packets a player receives during a tick,
+ * and sends them at the end of the tick as one bundle.
+ * <p>
+ * The client handles all packets in a bundle in the same frame, so every cosmetic of a hit
+ * (sounds, particles, animations) shows up at once, and the packets of a viewer are written together.
+ */
+final class CosmeticBuffer {
+	private static final Tag<CosmeticBuffer> BUFFER = Tag.Transient("cosmeticBuffer");
+	private static final Object CREATION_LOCK = new Object();
+
+	// The client rejects bundles with more packets than this
+	private static final int MAX_BUNDLE_SIZE = 4095;
+	private static final BundlePacket BUNDLE_DELIMITER = new BundlePacket();
+
+	private final Player viewer;
+	private final List<SendablePacket> packets = new ArrayList<>();
+	private final Runnable flush = this::flush;
+	private boolean scheduled;
+
+	private CosmeticBuffer(Player viewer) {
+		this.viewer = viewer;
+	}
+
+	static CosmeticBuffer get(Player viewer) {
+		CosmeticBuffer buffer = viewer.getTag(BUFFER);
+		if (buffer != null) return buffer;
+
+		synchronized (CREATION_LOCK) {
+			buffer = viewer.getTag(BUFFER);
+			if (buffer == null) {
+				buffer = new CosmeticBuffer(viewer);
+				viewer.setTag(BUFFER, buffer);
+			}
+			return buffer;
+		}
+	}
+
+	synchronized void add(SendablePacket packet) {
+		packets.add(packet);
+
+		if (!scheduled) {
+			scheduled = true;
+			MinecraftServer.getSchedulerManager().scheduleEndOfTick(flush);
+		}
+	}
+
+	private synchronized void flush() {
+		scheduled = false;
+		if (!viewer.isOnline()) {
+			packets.clear();
+			return;
+		}
+
+		int size = packets.size();
+		if (size == 1) {
+			viewer.sendPacket(packets.getFirst());
+		} else {
+			for (int start = 0; start < size; start += MAX_BUNDLE_SIZE) {
+				int end = Math.min(size, start + MAX_BUNDLE_SIZE);
+				viewer.sendPacket(BUNDLE_DELIMITER);
+				for (int i = start; i < end; i++) {
+					viewer.sendPacket(packets.get(i));
+				}
+				viewer.sendPacket(BUNDLE_DELIMITER);
+			}
+		}
+
+		packets.clear();
+	}
+}
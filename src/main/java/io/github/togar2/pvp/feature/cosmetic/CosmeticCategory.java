@@ -0,0 +1,51 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.play.EntitySoundEffectPacket;
+import net.minestom.server.network.packet.server.play.ParticlePacket;
+import net.minestom.server.network.packet.server.play.SoundEffectPacket;
+import net.minestom.server.network.packet.server.play.WorldEventPacket;
+
+/**
+ * The kind of a cosmetic packet, which decides the {@link DetailTiers} it is sent with.
+ */
+public enum CosmeticCategory {
+	SOUND,
+	/**
+	 * Particles and world events, like the particles of a splash potion.
+	 */
+	PARTICLE,
+	/**
+	 * Particles with the long distance flag, which vanilla sends much farther than other particles.
+	 */
+	LONG_DISTANCE_PARTICLE,
+	/**
+	 * Animations and statuses of entities, like critical hit effects and hurt animations.
+	 */
+	ANIMATION;
+
+	private static final CosmeticCategory[] VALUES = values();
+
+	/**
+	 * @return the amount of categories
+	 */
+	public static int count() {
+		return VALUES.length;
+	}
+
+	/**
+	 * Gets the category of a packet.
+	 *
+	 * @param packet the packet
+	 * @return the category, {@link #ANIMATION} for packets which are not a sound or particle
+	 */
+	public static CosmeticCategory of(SendablePacket packet) {
+		return switch (packet) {
+			case SoundEffectPacket ignored -> SOUND;
+			case EntitySoundEffectPacket ignored -> SOUND;
+			case ParticlePacket particle -> particle.longDistance() ? LONG_DISTANCE_PARTICLE : PARTICLE;
+			case WorldEventPacket ignored -> PARTICLE;
+			default -> ANIMATION;
+		};
+	}
+}
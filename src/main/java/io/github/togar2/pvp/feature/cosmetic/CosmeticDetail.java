@@ -0,0 +1,59 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+import java.util.Arrays;
+
+/**
+ * The {@link DetailTiers} of every {@link CosmeticCategory}, used by {@link VanillaCosmeticsFeature}.
+ * Instances are immutable, {@link #with(CosmeticCategory, DetailTiers)} returns a modified copy.
+ */
+public final class CosmeticDetail {
+	/**
+	 * Sends everything in full detail to every viewer.
+	 */
+	public static final CosmeticDetail UNLIMITED = new CosmeticDetail(filled(DetailTiers.UNLIMITED), 1);
+
+	/**
+	 * The distances a vanilla server sends sounds (16 blocks), particles (32 blocks)
+	 * and long distance particles (512 blocks) within.
+	 * Animations are sent to every viewer.
+	 */
+	public static final CosmeticDetail VANILLA = UNLIMITED
+			.with(CosmeticCategory.SOUND, DetailTiers.of(16))
+			.with(CosmeticCategory.PARTICLE, DetailTiers.of(32))
+			.with(CosmeticCategory.LONG_DISTANCE_PARTICLE, DetailTiers.of(512));
+
+	private final DetailTiers[] tiers;
+	private final double reducedParticleFactor;
+
+	private CosmeticDetail(DetailTiers[] tiers, double reducedParticleFactor) {
+		this.tiers = tiers;
+		this.reducedParticleFactor = reducedParticleFactor;
+	}
+
+	private static DetailTiers[] filled(DetailTiers tiers) {
+		DetailTiers[] array = new DetailTiers[CosmeticCategory.count()];
+		Arrays.fill(array, tiers);
+		return array;
+	}
+
+	public DetailTiers get(CosmeticCategory category) {
+		return tiers[category.ordinal()];
+	}
+
+	/**
+	 * @return the factor the count of particles is multiplied by for viewers in the reduced tier
+	 */
+	public double getReducedParticleFactor() {
+		return reducedParticleFactor;
+	}
+
+	public CosmeticDetail with(CosmeticCategory category, DetailTiers tiers) {
+		DetailTiers[] copy = this.tiers.clone();
+		copy[category.ordinal()] = tiers;
+		return new CosmeticDetail(copy, reducedParticleFactor);
+	}
+
+	public CosmeticDetail withReducedParticleFactor(double reducedParticleFactor) {
+		return new CosmeticDetail(tiers, reducedParticleFactor);
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.kyori.adventure.sound.Sound;
+import net.minestom.server.adventure.AdventurePacketConvertor;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.utils.PacketSendingUtils;
+
+/**
+ * Combat feature which sends the cosmetic packets of combat, like attack sounds, particles and hurt animations,
+ * to the players who can see them.
+ * <p>
+ * The default implementation sends every packet right away.
+ */
+public interface CosmeticsFeature extends CombatFeature {
+	CosmeticsFeature NO_OP = (source, packet) -> {
+		// Viewers already share one encoding, a player source would encode the packet a second time
+		source.sendPacketToViewersAndSelf(source instanceof Player ? encodeOnce(packet) : packet);
+	};
+
+	/**
+	 * Sends a cosmetic packet to the viewers of an entity, and to the entity itself if it is a player.
+	 *
+	 * @param source the entity the cosmetic belongs to
+	 * @param packet the packet
+	 */
+	void sendPacket(Entity source, SendablePacket packet);
+
+	/**
+	 * Plays a sound following an entity to its viewers, and to the entity itself if it is a player.
+	 *
+	 * @param source the entity the sound is played at
+	 * @param sound the sound
+	 */
+	default void playSound(Entity source, Sound sound) {
+		sendPacket(source, AdventurePacketConvertor.createSoundPacket(sound, source));
+	}
+
+	/**
+	 * Sends a cosmetic packet which does not belong to an entity, like the particles of a splash potion,
+	 * to the players in an instance who are within a distance of its position.
+	 *
+	 * @param instance the instance
+	 * @param position the position of the cosmetic
+	 * @param packet the packet
+	 * @param distance the distance from the position players receive the packet within
+	 */
+	default void sendNearby(Instance instance, Point position, SendablePacket packet, double distance) {
+		double x = position.x(), y = position.y(), z = position.z();
+		double distanceSquared = distance * distance;
+
+		PacketSendingUtils.sendGroupedPacket(instance.getPlayers(), packet, player -> {
+			Point playerPosition = player.getPosition();
+			double dx = x - playerPosition.x();
+			double dy = y - playerPosition.y();
+			double dz = z - playerPosition.z();
+
+			return dx * dx + dy * dy + dz * dz < distanceSquared;
+		});
+	}
+
+	/**
+	 * Wraps a packet so it is encoded at most once, no matter how many players it is sent to.
+	 *
+	 * @param packet the packet
+	 * @return a packet which shares its encoded form between all sends
+	 */
+	static SendablePacket encodeOnce(SendablePacket packet) {
+		return packet instanceof ServerPacket serverPacket ? new CachedPacket(serverPacket) : packet;
+	}
+}
@@ -0,0 +1,13 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+/**
+ * The level of detail a viewer receives a cosmetic in.
+ */
+public enum DetailLevel {
+	FULL,
+	/**
+	 * Particles are sent with a lower count, other cosmetics are sent unchanged.
+	 */
+	REDUCED,
+	NONE
+}
@@ -0,0 +1,63 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+/**
+ * The distances at which viewers receive a cosmetic in full detail, in reduced detail, or not at all.
+ * Distances are compared squared, so evaluating a viewer does not need a square root.
+ */
+public final class DetailTiers {
+	/**
+	 * Tiers which send everything in full detail, regardless of distance.
+	 */
+	public static final DetailTiers UNLIMITED = new DetailTiers(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+	private final double fullDistanceSquared;
+	private final double reducedDistanceSquared;
+
+	private DetailTiers(double fullDistance, double reducedDistance) {
+		this.fullDistanceSquared = fullDistance * fullDistance;
+		this.reducedDistanceSquared = reducedDistance * reducedDistance;
+	}
+
+	/**
+	 * Creates detail tiers.
+	 *
+	 * @param fullDistance the distance up to which viewers receive full detail
+	 * @param reducedDistance the distance up to which viewers receive reduced detail,
+	 *                        beyond this distance viewers receive nothing
+	 * @return the tiers
+	 */
+	public static DetailTiers of(double fullDistance, double reducedDistance) {
+		if (reducedDistance < fullDistance)
+			throw new IllegalArgumentException("Reduced distance must not be smaller than the full distance");
+		return new DetailTiers(fullDistance, reducedDistance);
+	}
+
+	/**
+	 * Creates detail tiers without a reduced tier.
+	 *
+	 * @param distance the distance up to which viewers receive full detail
+	 * @return the tiers
+	 */
+	public static DetailTiers of(double distance) {
+		return of(distance, distance);
+	}
+
+	/**
+	 * @return true if every viewer receives full detail
+	 */
+	public boolean isUnlimited() {
+		return fullDistanceSquared == Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Gets the level of detail for a viewer.
+	 *
+	 * @param distanceSquared the squared distance from the viewer to the cosmetic
+	 * @return the level of detail
+	 */
+	public DetailLevel level(double distanceSquared) {
+		if (distanceSquared <= fullDistanceSquared) return DetailLevel.FULL;
+		if (distanceSquared <= reducedDistanceSquared) return DetailLevel.REDUCED;
+		return DetailLevel.NONE;
+	}
+}
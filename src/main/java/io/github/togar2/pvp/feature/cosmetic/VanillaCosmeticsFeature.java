@@ -0,0 +1,142 @@
+package io.github.togar2.pvp.feature.cosmetic;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.play.ParticlePacket;
+
+/**
+ * Vanilla implementation of {@link CosmeticsFeature}
+ * <p>
+ * Sends every cosmetic to the viewers of its source according to the {@link DetailTiers} of its category,
+ * based on the distance between the viewer and the source.
+ * Viewers in the reduced tier receive particles with a lower count.
+ * The source itself, if it is a player, always receives full detail.
+ * Cosmetics sent with {@link #sendNearby(Instance, Point, SendablePacket, double)} are evaluated
+ * by the distance to their position, and never sent beyond the given distance.
+ * <p>
+ * When using {@link VanillaCosmeticsFeature#BUNDLED}, the cosmetics a player receives during a tick
+ * are sent at the end of the tick as one bundle, so the client shows every cosmetic of a hit at once.
+ */
+public class VanillaCosmeticsFeature implements CosmeticsFeature {
+	public static final DefinedFeature<VanillaCosmeticsFeature> DEFINED = defined(CosmeticDetail.VANILLA, false);
+	/**
+	 * @see VanillaCosmeticsFeature
+	 */
+	public static final DefinedFeature<VanillaCosmeticsFeature> BUNDLED = defined(CosmeticDetail.VANILLA, true);
+
+	protected final CosmeticDetail detail;
+	private final boolean bundled;
+
+	public VanillaCosmeticsFeature(CosmeticDetail detail, boolean bundled) {
+		this.detail = detail;
+		this.bundled = bundled;
+	}
+
+	/**
+	 * Creates a defined cosmetics feature.
+	 *
+	 * @param detail the detail tiers of each cosmetic category
+	 * @param bundled whether to send the cosmetics of a tick as one bundle per viewer
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<VanillaCosmeticsFeature> defined(CosmeticDetail detail, boolean bundled) {
+		return new DefinedFeature<>(
+				FeatureType.COSMETICS, configuration -> new VanillaCosmeticsFeature(detail, bundled)
+		);
+	}
+
+	@Override
+	public void sendPacket(Entity source, SendablePacket packet) {
+		DetailTiers tiers = detail.get(CosmeticCategory.of(packet));
+		SendablePacket full = CosmeticsFeature.encodeOnce(packet);
+		SendablePacket reduced = null;
+
+		if (tiers.isUnlimited()) {
+			for (Player viewer : source.getViewers()) {
+				deliver(viewer, full);
+			}
+		} else {
+			Pos position = source.getPosition();
+			double x = position.x(), y = position.y(), z = position.z();
+
+			for (Player viewer : source.getViewers()) {
+				Pos viewerPosition = viewer.getPosition();
+				double dx = viewerPosition.x() - x;
+				double dy = viewerPosition.y() - y;
+				double dz = viewerPosition.z() - z;
+
+				switch (tiers.level(dx * dx + dy * dy + dz * dz)) {
+					case FULL -> deliver(viewer, full);
+					case REDUCED -> {
+						if (reduced == null) reduced = CosmeticsFeature.encodeOnce(reduce(packet));
+						deliver(viewer, reduced);
+					}
+					case NONE -> {}
+				}
+			}
+		}
+
+		if (source instanceof Player player) deliver(player, full);
+	}
+
+	@Override
+	public void sendNearby(Instance instance, Point position, SendablePacket packet, double distance) {
+		DetailTiers tiers = detail.get(CosmeticCategory.of(packet));
+		SendablePacket full = CosmeticsFeature.encodeOnce(packet);
+		SendablePacket reduced = null;
+
+		double x = position.x(), y = position.y(), z = position.z();
+		double maxDistanceSquared = distance * distance;
+
+		for (Player viewer : instance.getPlayers()) {
+			Pos viewerPosition = viewer.getPosition();
+			double dx = viewerPosition.x() - x;
+			double dy = viewerPosition.y() - y;
+			double dz = viewerPosition.z() - z;
+			double distanceSquared = dx * dx + dy * dy + dz * dz;
+			if (distanceSquared >= maxDistanceSquared) continue;
+
+			switch (tiers.level(distanceSquared)) {
+				case FULL -> deliver(viewer, full);
+				case REDUCED -> {
+					if (reduced == null) reduced = CosmeticsFeature.encodeOnce(reduce(packet));
+					deliver(viewer, reduced);
+				}
+				case NONE -> {}
+			}
+		}
+	}
+
+	/**
+	 * Creates the reduced detail version of a cosmetic packet.
+	 */
+	protected SendablePacket reduce(SendablePacket packet) {
+		// A count of 0 is a single particle with a direction, which can not be reduced
+		if (!(packet instanceof ParticlePacket particle) || particle.particleCount() <= 1) return packet;
+
+		int count = Math.max(1, (int) (particle.particleCount() * detail.getReducedParticleFactor()));
+		return new ParticlePacket(
+				particle.particle(), particle.overrideLimiter(), particle.longDistance(),
+				particle.x(), particle.y(), particle.z(),
+				particle.offsetX(), particle.offsetY(), particle.offsetZ(),
+				particle.maxSpeed(), count
+		);
+	}
+
+	/**
+	 * Sends a cosmetic packet to a single viewer.
+	 */
+	protected void deliver(Player viewer, SendablePacket packet) {
+		if (bundled) {
+			CosmeticBuffer.get(viewer).add(packet);
+		} else {
+			viewer.sendPacket(packet);
+		}
+	}
+}
@@ -9,10 +9,13 @@ import io.github.togar2.pvp.feature.armor.ArmorFeature;
 import io.github.togar2.pvp.feature.block.BlockFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.food.ExhaustionFeature;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
 import io.github.togar2.pvp.feature.provider.DifficultyProvider;
+import io.github.togar2.pvp.feature.recording.PendingKnockback;
+import io.github.togar2.pvp.feature.recording.RecorderFeature;
 import io.github.togar2.pvp.feature.totem.TotemFeature;
 import io.github.togar2.pvp.feature.tracking.TrackingFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
@@ -20,6 +23,7 @@ import io.github.togar2.pvp.utils.EntityUtil;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.entity.LivingEntity;
@@ -31,6 +35,7 @@ import net.minestom.server.event.EventNode;
 import net.minestom.server.event.entity.EntityDamageEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.network.packet.server.play.DamageEventPacket;
+import net.minestom.server.network.packet.server.play.EntityStatusPacket;
 import net.minestom.server.network.packet.server.play.SoundEffectPacket;
 import net.minestom.server.potion.PotionEffect;
 import net.minestom.server.sound.SoundEvent;
@@ -47,7 +52,7 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 			FeatureType.DAMAGE, VanillaDamageFeature::new,
 			FeatureType.DIFFICULTY, FeatureType.BLOCK, FeatureType.ARMOR, FeatureType.TOTEM,
 			FeatureType.EXHAUSTION, FeatureType.KNOCKBACK, FeatureType.TRACKING,
-			FeatureType.ITEM_DAMAGE, FeatureType.VERSION
+			FeatureType.ITEM_DAMAGE, FeatureType.RECORDER, FeatureType.COSMETICS, FeatureType.VERSION
 	);
 	
 	public static final Tag<Long> NEW_DAMAGE_TIME = Tag.Long("newDamageTime");
@@ -64,6 +69,8 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 	private KnockbackFeature knockbackFeature;
 	private TrackingFeature trackingFeature;
 	private ItemDamageFeature itemDamageFeature;
+	private RecorderFeature recorderFeature;
+	private CosmeticsFeature cosmeticsFeature;
 	
 	private CombatVersion version;
 	
@@ -81,6 +88,8 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		this.knockbackFeature = configuration.get(FeatureType.KNOCKBACK);
 		this.trackingFeature = configuration.get(FeatureType.TRACKING);
 		this.itemDamageFeature = configuration.get(FeatureType.ITEM_DAMAGE);
+		this.recorderFeature = configuration.get(FeatureType.RECORDER);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
 		this.version = configuration.get(FeatureType.VERSION);
 	}
 	
@@ -175,15 +184,17 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		
 		if (register) entity.setTag(LAST_DAMAGE_AMOUNT, amountBeforeProcessing);
 		
+		boolean recording = recorderFeature != RecorderFeature.NO_OP;
+		double knockbackX = 0, knockbackY = 0, knockbackZ = 0;
 		if (hurtSoundAndAnimation) {
 			entity.setTag(NEW_DAMAGE_TIME, entity.getAliveTicks() + finalDamageEvent.getInvulnerabilityTicks());
 			
 			if (fullyBlocked) {
 				// Shield status
-				entity.triggerStatus((byte) 29);
+				cosmeticsFeature.sendPacket(entity, new EntityStatusPacket(entity.getEntityId(), (byte) 29));
 			} else if (finalDamageEvent.shouldAnimate()) {
 				// Send damage animation
-				entity.sendPacketToViewersAndSelf(new DamageEventPacket(
+				cosmeticsFeature.sendPacket(entity, new DamageEventPacket(
 						entity.getEntityId(),
 						MinecraftServer.getDamageTypeRegistry().getId(damage.getType()),
 						damage.getAttacker() == null ? 0 : damage.getAttacker().getEntityId() + 1,
@@ -194,7 +205,17 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 			
 			if (!fullyBlocked && damage.getType() != DamageType.DROWN) {
 				if (attacker != null && !typeInfo.explosive()) {
-					knockbackFeature.applyDamageKnockback(damage, entity);
+					if (!recording) {
+						knockbackFeature.applyDamageKnockback(damage, entity);
+					} else {
+						Vec velocity = entity.getVelocity();
+						if (knockbackFeature.applyDamageKnockback(damage, entity)) {
+							Vec newVelocity = entity.getVelocity();
+							knockbackX = newVelocity.x() - velocity.x();
+							knockbackY = newVelocity.y() - velocity.y();
+							knockbackZ = newVelocity.z() - velocity.z();
+						}
+					}
 				} else {
 					// Update velocity
 					entity.setVelocity(entity.getVelocity());
@@ -240,7 +261,7 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		
 		if (hurtSoundAndAnimation) {
 			// Play sound (copied from Minestom, because of complications with cancelling)
-			if (sound != null) entity.sendPacketToViewersAndSelf(new SoundEffectPacket(
+			if (sound != null) cosmeticsFeature.sendPacket(entity, new SoundEffectPacket(
 					sound, entity instanceof Player ? Sound.Source.PLAYER : Sound.Source.HOSTILE,
 					entity.getPosition(),
 					//TODO seed randomizing?
@@ -262,9 +283,22 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		// lastDamage field is set when event is not cancelled but should also when cancelled
 		if (register) EntityUtil.setLastDamage(entity, damage);
 		
+		if (event.isCancelled()) return;
+		if (recording) {
+			PendingKnockback pending = PendingKnockback.getIfPresent(entity);
+			boolean pendingDamage = pending != null && pending.isPendingFor(damage);
+			if (hurtSoundAndAnimation && pendingDamage) {
+				// The feature which dealt the damage records the hit after its own knockback
+				pending.set(knockbackX, knockbackY, knockbackZ);
+			} else {
+				if (pendingDamage) pending.clear();
+				recorderFeature.recordDamage(entity, damage, knockbackX, knockbackY, knockbackZ);
+			}
+		}
+		
 		// The Minestom damage method should return false if there was no hurt animation,
 		// because otherwise the attack feature will deal extra knockback
-		if (!event.isCancelled() && !hurtSoundAndAnimation) {
+		if (!hurtSoundAndAnimation) {
 			event.setCancelled(true);
 			damageManually(entity, amount);
 		}
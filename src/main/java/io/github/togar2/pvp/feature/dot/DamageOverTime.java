@@ -0,0 +1,108 @@
+package io.github.togar2.pvp.feature.dot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.entity.damage.DamageType;
+import net.minestom.server.registry.RegistryKey;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes a source of periodic damage (or any other periodic action) which can be applied to an entity
+ * using {@link DamageOverTimeFeature#apply(LivingEntity, DamageOverTime)}.
+ * <p>
+ * An entity can only have one active damage over time per key. What happens when another one with the same key
+ * is applied is determined by the {@link StackingPolicy}.
+ *
+ * @param key the key identifying this damage over time
+ * @param interval the amount of ticks between two applications
+ * @param delay the amount of ticks before the first application
+ * @param duration the amount of ticks this damage over time lasts, or {@link #INFINITE_DURATION}
+ * @param stacking what happens when this is applied while one with the same key is active
+ * @param maxStacks the maximum amount of stacks, only used for {@link StackingPolicy#STACK}
+ * @param applier the action to perform on every application
+ */
+public record DamageOverTime(Key key, int interval, int delay, int duration,
+                             StackingPolicy stacking, int maxStacks, Applier applier) {
+	public static final int INFINITE_DURATION = -1;
+
+	public DamageOverTime {
+		if (interval <= 0) throw new IllegalArgumentException("Interval must be positive");
+		if (delay < 0) throw new IllegalArgumentException("Delay cannot be negative");
+		if (maxStacks <= 0) throw new IllegalArgumentException("Max stacks must be positive");
+	}
+
+	public boolean isInfinite() {
+		return duration == INFINITE_DURATION;
+	}
+
+	/**
+	 * Creates a damage over time which deals the given amount of damage per stack on every application.
+	 *
+	 * @param key the key identifying the damage over time
+	 * @param type the type of damage to deal
+	 * @param amount the amount of damage per stack
+	 * @param interval the amount of ticks between two applications
+	 * @param duration the amount of ticks the damage over time lasts
+	 * @param stacking the stacking policy
+	 * @param attacker the entity responsible for the damage, if any
+	 * @return the damage over time
+	 */
+	public static DamageOverTime damage(Key key, RegistryKey<DamageType> type, float amount,
+	                                    int interval, int duration, StackingPolicy stacking,
+	                                    @Nullable Entity attacker) {
+		return new DamageOverTime(key, interval, interval, duration, stacking, 1, (entity, stacks) ->
+				entity.damage(new Damage(type, attacker, attacker, null, amount * stacks)));
+	}
+
+	/**
+	 * Returns a copy of this damage over time with a different maximum amount of stacks.
+	 *
+	 * @param maxStacks the new maximum amount of stacks
+	 * @return the copy
+	 */
+	public DamageOverTime withMaxStacks(int maxStacks) {
+		return new DamageOverTime(key, interval, delay, duration, stacking, maxStacks, applier);
+	}
+
+	/**
+	 * Returns a copy of this damage over time with a different delay before the first application.
+	 *
+	 * @param delay the new delay in ticks
+	 * @return the copy
+	 */
+	public DamageOverTime withDelay(int delay) {
+		return new DamageOverTime(key, interval, delay, duration, stacking, maxStacks, applier);
+	}
+
+	@FunctionalInterface
+	public interface Applier {
+		/**
+		 * Applies the damage over time to the entity.
+		 *
+		 * @param entity the entity
+		 * @param stacks the current amount of stacks, at least 1
+		 */
+		void apply(LivingEntity entity, int stacks);
+	}
+
+	public enum StackingPolicy {
+		/**
+		 * The new damage over time replaces the active one, including its timing.
+		 */
+		REPLACE,
+		/**
+		 * The active damage over time is kept, the new one is ignored.
+		 */
+		KEEP,
+		/**
+		 * The active damage over time keeps its timing, but lasts at least as long as the new one.
+		 */
+		EXTEND,
+		/**
+		 * Like {@link #EXTEND}, but also adds a stack (up to the maximum amount of stacks).
+		 */
+		STACK
+	}
+}
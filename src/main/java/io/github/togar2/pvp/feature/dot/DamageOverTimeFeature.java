@@ -0,0 +1,51 @@
+package io.github.togar2.pvp.feature.dot;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.kyori.adventure.key.Key;
+import net.minestom.server.entity.LivingEntity;
+
+/**
+ * Combat feature which schedules periodic damage sources, such as poison and wither.
+ */
+public interface DamageOverTimeFeature extends CombatFeature {
+	DamageOverTimeFeature NO_OP = new DamageOverTimeFeature() {
+		@Override
+		public boolean apply(LivingEntity entity, DamageOverTime damageOverTime) {
+			return false;
+		}
+
+		@Override public void remove(LivingEntity entity, Key key) {}
+
+		@Override
+		public boolean isActive(LivingEntity entity, Key key) {
+			return false;
+		}
+	};
+
+	/**
+	 * Applies a damage over time to an entity, following its stacking policy
+	 * if the entity already has an active damage over time with the same key.
+	 *
+	 * @param entity the entity to apply it to
+	 * @param damageOverTime the damage over time
+	 * @return whether the damage over time is now scheduled by this feature
+	 */
+	boolean apply(LivingEntity entity, DamageOverTime damageOverTime);
+
+	/**
+	 * Removes the active damage over time with the given key from an entity.
+	 *
+	 * @param entity the entity
+	 * @param key the key of the damage over time
+	 */
+	void remove(LivingEntity entity, Key key);
+
+	/**
+	 * Returns whether an entity has an active damage over time with the given key.
+	 *
+	 * @param entity the entity
+	 * @param key the key of the damage over time
+	 * @return whether it is active
+	 */
+	boolean isActive(LivingEntity entity, Key key);
+}
@@ -0,0 +1,218 @@
+package io.github.togar2.pvp.feature.dot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Schedules the damage over time of all entities in one instance.
+ * <p>
+ * Scheduled damage is stored in a timing wheel of tick buckets, so every tick only the bucket
+ * containing the damage due in that tick is visited. Damage which is due more than one revolution
+ * of the wheel later stays in its bucket until its tick has been reached.
+ */
+final class DamageOverTimeScheduler {
+	private static final Tag<DamageOverTimeScheduler> SCHEDULER = Tag.Transient("damageOverTimeScheduler");
+	private static final Object CREATION_LOCK = new Object();
+
+	private static final int WHEEL_SIZE = 64;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	private final Instance instance;
+	@SuppressWarnings("unchecked")
+	private final ArrayList<Entry>[] wheel = new ArrayList[WHEEL_SIZE];
+	private ArrayList<Entry> spare = new ArrayList<>();
+
+	private long currentTick;
+	private int size;
+	private @Nullable Task task;
+
+	private DamageOverTimeScheduler(Instance instance) {
+		this.instance = instance;
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			wheel[i] = new ArrayList<>();
+		}
+	}
+
+	static DamageOverTimeScheduler get(Instance instance) {
+		DamageOverTimeScheduler scheduler = instance.getTag(SCHEDULER);
+		if (scheduler != null) return scheduler;
+
+		synchronized (CREATION_LOCK) {
+			scheduler = instance.getTag(SCHEDULER);
+			if (scheduler == null) {
+				scheduler = new DamageOverTimeScheduler(instance);
+				instance.setTag(SCHEDULER, scheduler);
+			}
+			return scheduler;
+		}
+	}
+
+	/**
+	 * Schedules a damage over time for an entity.
+	 *
+	 * @return the scheduled entry, or null if the damage over time ends before its first application
+	 */
+	synchronized @Nullable Entry schedule(LivingEntity entity, DamageOverTime damageOverTime) {
+		long start = currentTick + 1;
+		long nextTick = start + damageOverTime.delay();
+		long endTick = damageOverTime.isInfinite() ? Long.MAX_VALUE : start + damageOverTime.duration();
+		if (nextTick >= endTick) return null;
+
+		Entry entry = new Entry(entity, damageOverTime, this, nextTick, endTick);
+		insert(entry);
+		return entry;
+	}
+
+	/**
+	 * Makes an active entry last at least as long as the given damage over time, optionally adding a stack.
+	 */
+	synchronized void extend(Entry entry, DamageOverTime damageOverTime, boolean stack) {
+		long endTick = damageOverTime.isInfinite() ? Long.MAX_VALUE : currentTick + 1 + damageOverTime.duration();
+		entry.endTick = Math.max(entry.endTick, endTick);
+		if (stack) entry.stacks = Math.min(entry.stacks + 1, damageOverTime.maxStacks());
+	}
+
+	synchronized void cancel(Entry entry) {
+		// The entry is dropped once its bucket is visited
+		entry.cancelled = true;
+	}
+
+	private synchronized void adopt(Entry entry, long ticksLeft) {
+		entry.scheduler = this;
+		entry.nextTick = currentTick + 1;
+		entry.endTick = ticksLeft == Long.MAX_VALUE ? Long.MAX_VALUE : entry.nextTick + ticksLeft;
+		insert(entry);
+	}
+
+	private void insert(Entry entry) {
+		wheel[(int) (entry.nextTick & WHEEL_MASK)].add(entry);
+		size++;
+
+		if (task == null) {
+			task = instance.scheduler().buildTask(this::tick)
+					.repeat(TaskSchedule.tick(1))
+					.schedule();
+		}
+	}
+
+	private void tick() {
+		ArrayList<Entry> due;
+		synchronized (this) {
+			currentTick++;
+			int slot = (int) (currentTick & WHEEL_MASK);
+			due = wheel[slot];
+			wheel[slot] = spare;
+		}
+
+		for (Entry entry : due) {
+			synchronized (this) {
+				if (entry.cancelled) {
+					finish(entry);
+					continue;
+				}
+				if (entry.nextTick != currentTick) {
+					// Due in a later revolution of the wheel
+					wheel[(int) (entry.nextTick & WHEEL_MASK)].add(entry);
+					continue;
+				}
+			}
+
+			LivingEntity entity = entry.entity;
+			if (entity.isRemoved() || entity.isDead()) {
+				synchronized (this) {
+					finish(entry);
+				}
+				continue;
+			}
+
+			Instance entityInstance = entity.getInstance();
+			if (entityInstance != instance) {
+				long ticksLeft;
+				synchronized (this) {
+					ticksLeft = entry.endTick == Long.MAX_VALUE ? Long.MAX_VALUE : entry.endTick - currentTick;
+					size--;
+				}
+				if (entityInstance != null) {
+					get(entityInstance).adopt(entry, ticksLeft);
+				} else {
+					entry.cancelled = true;
+					entry.removeFromEntity();
+				}
+				continue;
+			}
+
+			entry.damageOverTime.applier().apply(entity, entry.stacks);
+
+			synchronized (this) {
+				if (entry.cancelled || entry.scheduler != this) {
+					finish(entry);
+					continue;
+				}
+
+				entry.nextTick += entry.damageOverTime.interval();
+				if (entry.nextTick >= entry.endTick) {
+					finish(entry);
+				} else {
+					wheel[(int) (entry.nextTick & WHEEL_MASK)].add(entry);
+				}
+			}
+		}
+
+		synchronized (this) {
+			due.clear();
+			spare = due;
+
+			if (size == 0 && task != null) {
+				task.cancel();
+				task = null;
+			}
+		}
+	}
+
+	private void finish(Entry entry) {
+		size--;
+		entry.cancelled = true;
+		entry.removeFromEntity();
+	}
+
+	static final class Entry {
+		private final LivingEntity entity;
+		private final DamageOverTime damageOverTime;
+		private DamageOverTimeScheduler scheduler;
+
+		private long nextTick;
+		private long endTick;
+		private int stacks = 1;
+		private volatile boolean cancelled;
+
+		private Entry(LivingEntity entity, DamageOverTime damageOverTime, DamageOverTimeScheduler scheduler,
+		              long nextTick, long endTick) {
+			this.entity = entity;
+			this.damageOverTime = damageOverTime;
+			this.scheduler = scheduler;
+			this.nextTick = nextTick;
+			this.endTick = endTick;
+		}
+
+		DamageOverTimeScheduler scheduler() {
+			return scheduler;
+		}
+
+		boolean isCancelled() {
+			return cancelled;
+		}
+
+		private void removeFromEntity() {
+			Map<Key, Entry> active = entity.getTag(VanillaDamageOverTimeFeature.ACTIVE);
+			if (active != null) active.remove(damageOverTime.key(), this);
+		}
+	}
+}
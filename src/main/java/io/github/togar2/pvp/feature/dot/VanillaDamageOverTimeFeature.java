@@ -0,0 +1,80 @@
+package io.github.togar2.pvp.feature.dot;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import net.kyori.adventure.key.Key;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vanilla implementation of {@link DamageOverTimeFeature}.
+ * Damage over time is scheduled per instance, see {@link DamageOverTimeScheduler}.
+ */
+public class VanillaDamageOverTimeFeature implements DamageOverTimeFeature {
+	public static final DefinedFeature<VanillaDamageOverTimeFeature> DEFINED = new DefinedFeature<>(
+			FeatureType.DAMAGE_OVER_TIME, configuration -> new VanillaDamageOverTimeFeature()
+	);
+
+	static final Tag<Map<Key, DamageOverTimeScheduler.Entry>> ACTIVE = Tag.Transient("activeDamageOverTime");
+
+	@Override
+	public boolean apply(LivingEntity entity, DamageOverTime damageOverTime) {
+		Instance instance = entity.getInstance();
+		if (instance == null) return false;
+
+		Map<Key, DamageOverTimeScheduler.Entry> active = getActiveMap(entity);
+		DamageOverTimeScheduler.Entry existing = active.get(damageOverTime.key());
+		if (existing != null && !existing.isCancelled()) {
+			switch (damageOverTime.stacking()) {
+				case KEEP -> {
+					return true;
+				}
+				case EXTEND, STACK -> {
+					existing.scheduler().extend(existing, damageOverTime,
+							damageOverTime.stacking() == DamageOverTime.StackingPolicy.STACK);
+					return true;
+				}
+				case REPLACE -> existing.scheduler().cancel(existing);
+			}
+		}
+
+		DamageOverTimeScheduler.Entry entry = DamageOverTimeScheduler.get(instance).schedule(entity, damageOverTime);
+		if (entry != null) {
+			active.put(damageOverTime.key(), entry);
+		} else {
+			active.remove(damageOverTime.key());
+		}
+		return true;
+	}
+
+	@Override
+	public void remove(LivingEntity entity, Key key) {
+		Map<Key, DamageOverTimeScheduler.Entry> active = entity.getTag(ACTIVE);
+		if (active == null) return;
+
+		DamageOverTimeScheduler.Entry entry = active.remove(key);
+		if (entry != null) entry.scheduler().cancel(entry);
+	}
+
+	@Override
+	public boolean isActive(LivingEntity entity, Key key) {
+		Map<Key, DamageOverTimeScheduler.Entry> active = entity.getTag(ACTIVE);
+		if (active == null) return false;
+
+		DamageOverTimeScheduler.Entry entry = active.get(key);
+		return entry != null && !entry.isCancelled();
+	}
+
+	private static Map<Key, DamageOverTimeScheduler.Entry> getActiveMap(LivingEntity entity) {
+		Map<Key, DamageOverTimeScheduler.Entry> active = entity.getTag(ACTIVE);
+		if (active == null) {
+			active = new ConcurrentHashMap<>();
+			entity.setTag(ACTIVE, active);
+		}
+		return active;
+	}
+}
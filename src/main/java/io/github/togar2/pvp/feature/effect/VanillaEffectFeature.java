@@ -6,6 +6,8 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.dot.DamageOverTime;
+import io.github.togar2.pvp.feature.dot.DamageOverTimeFeature;
 import io.github.togar2.pvp.feature.food.ExhaustionFeature;
 import io.github.togar2.pvp.feature.food.FoodFeature;
 import io.github.togar2.pvp.potion.effect.CombatPotionEffect;
@@ -47,7 +49,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaEffectFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.EFFECT, VanillaEffectFeature::new,
-			FeatureType.EXHAUSTION, FeatureType.FOOD, FeatureType.VERSION
+			FeatureType.EXHAUSTION, FeatureType.FOOD, FeatureType.DAMAGE_OVER_TIME, FeatureType.VERSION
 	);
 	
 	public static final Tag<Map<PotionEffect, Integer>> DURATION_LEFT = Tag.Transient("effectDurationLeft");
@@ -57,6 +59,7 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 	
 	private ExhaustionFeature exhaustionFeature;
 	private FoodFeature foodFeature;
+	private DamageOverTimeFeature damageOverTimeFeature;
 	private CombatVersion version;
 	
 	public VanillaEffectFeature(FeatureConfiguration configuration) {
@@ -67,6 +70,7 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 	public void initDependencies() {
 		this.exhaustionFeature = configuration.get(FeatureType.EXHAUSTION);
 		this.foodFeature = configuration.get(FeatureType.FOOD);
+		this.damageOverTimeFeature = configuration.get(FeatureType.DAMAGE_OVER_TIME);
 		this.version = configuration.get(FeatureType.VERSION);
 	}
 	
@@ -87,7 +91,11 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 					CombatPotionEffect combatPotionEffect = CombatPotionEffects.get(potion.potion().effect());
 					int amplifier = potion.potion().amplifier();
 					
-					if (combatPotionEffect.canApplyUpdateEffect(durationLeft, amplifier)) {
+					// Damage over time which is scheduled by the damage over time feature should not be applied twice
+					boolean scheduled = combatPotionEffect.isDamageOverTime()
+							&& damageOverTimeFeature.isActive(entity, potion.potion().effect().key());
+					
+					if (!scheduled && combatPotionEffect.canApplyUpdateEffect(durationLeft, amplifier)) {
 						combatPotionEffect.applyUpdateEffect(entity, amplifier, exhaustionFeature, foodFeature);
 					}
 					
@@ -114,6 +122,9 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 			CombatPotionEffect combatPotionEffect = CombatPotionEffects.get(event.getPotion().effect());
 			combatPotionEffect.onApplied(entity, event.getPotion().amplifier(), version);
 			
+			DamageOverTime damageOverTime = combatPotionEffect.getDamageOverTime(event.getPotion());
+			if (damageOverTime != null) damageOverTimeFeature.apply(entity, damageOverTime);
+			
 			updatePotionVisibility(entity);
 		});
 		
@@ -122,6 +133,8 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 			
 			CombatPotionEffect combatPotionEffect = CombatPotionEffects.get(event.getPotion().effect());
 			combatPotionEffect.onRemoved(entity, event.getPotion().amplifier(), version);
+			if (combatPotionEffect.isDamageOverTime())
+				damageOverTimeFeature.remove(entity, event.getPotion().effect().key());
 			
 			//Delay update 1 tick because we need to have the removing effect removed
 			MinecraftServer.getSchedulerManager()
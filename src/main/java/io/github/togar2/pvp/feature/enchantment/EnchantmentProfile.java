@@ -0,0 +1,95 @@
+package io.github.togar2.pvp.feature.enchantment;
+
+import io.github.togar2.pvp.enchantment.CombatEnchantment;
+import io.github.togar2.pvp.enchantment.CombatEnchantments;
+import io.github.togar2.pvp.enchantment.EntityGroup;
+import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import net.minestom.server.item.component.EnchantmentList;
+import net.minestom.server.item.enchant.Enchantment;
+import net.minestom.server.registry.RegistryKey;
+
+import java.util.Map;
+
+/**
+ * The resolved enchantment values of a single enchantment list, as used for attacks.
+ * Profiles are created and cached by {@link VanillaEnchantmentFeature#getProfile(net.minestom.server.item.ItemStack)}.
+ */
+public final class EnchantmentProfile {
+	private static final EntityGroup[] GROUPS = EntityGroup.values();
+
+	private final Map<RegistryKey<Enchantment>, Integer> levels;
+	private final float[] attackDamage = new float[GROUPS.length];
+	private final int knockback;
+	private final int fireAspect;
+	private final int sweeping;
+	private final int looting;
+	private final int unbreaking;
+
+	EnchantmentProfile(EnchantmentList enchantments, EnchantmentFeature feature, FeatureConfiguration configuration) {
+		// Copied, because the profile is cached weakly by the enchantment list and should not hold on to it
+		this.levels = Map.copyOf(enchantments.enchantments());
+
+		levels.forEach((enchantment, level) -> {
+			CombatEnchantment combatEnchantment = CombatEnchantments.get(enchantment);
+			if (combatEnchantment == null) return;
+
+			for (EntityGroup group : GROUPS) {
+				attackDamage[group.ordinal()] += combatEnchantment.getAttackDamage(level, group, feature, configuration);
+			}
+		});
+
+		this.knockback = getLevel(Enchantment.KNOCKBACK);
+		this.fireAspect = getLevel(Enchantment.FIRE_ASPECT);
+		this.sweeping = getLevel(Enchantment.SWEEPING_EDGE);
+		this.looting = getLevel(Enchantment.LOOTING);
+		this.unbreaking = getLevel(Enchantment.UNBREAKING);
+	}
+
+	public int getLevel(RegistryKey<Enchantment> enchantment) {
+		Integer level = levels.get(enchantment);
+		return level == null ? 0 : level;
+	}
+
+	public boolean isEmpty() {
+		return levels.isEmpty();
+	}
+
+	/**
+	 * Returns the extra attack damage against the given entity group.
+	 *
+	 * @param group the entity group of the target
+	 * @return the extra attack damage
+	 */
+	public float getAttackDamage(EntityGroup group) {
+		return attackDamage[group.ordinal()];
+	}
+
+	public int getKnockback() {
+		return knockback;
+	}
+
+	public int getFireAspect() {
+		return fireAspect;
+	}
+
+	public int getSweeping() {
+		return sweeping;
+	}
+
+	/**
+	 * Returns the fraction of the attack damage which is dealt to entities hit by a sweep.
+	 *
+	 * @return the sweeping ratio
+	 */
+	public float getSweepingRatio() {
+		return sweeping > 0 ? 1.0f - (1.0f / (float) (sweeping + 1)) : 0;
+	}
+
+	public int getLooting() {
+		return looting;
+	}
+
+	public int getUnbreaking() {
+		return unbreaking;
+	}
+}
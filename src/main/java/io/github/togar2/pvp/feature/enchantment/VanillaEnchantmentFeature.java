@@ -8,6 +8,7 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.utils.WeakIdentityCache;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EquipmentSlot;
@@ -24,7 +25,6 @@ import net.minestom.server.registry.RegistryKey;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 /**
@@ -40,8 +40,13 @@ public class VanillaEnchantmentFeature implements EnchantmentFeature, Registrabl
 	
 	private final FeatureConfiguration configuration;
 	
+	// Keyed by the enchantment component instead of the item stack,
+	// because the stack is replaced every time it takes damage while the component is carried over
+	private final WeakIdentityCache<EnchantmentList, EnchantmentProfile> profiles;
+	
 	public VanillaEnchantmentFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
+		this.profiles = new WeakIdentityCache<>(enchantments -> new EnchantmentProfile(enchantments, this, configuration));
 	}
 	
 	@Override
@@ -64,14 +69,26 @@ public class VanillaEnchantmentFeature implements EnchantmentFeature, Registrabl
 		}
 	}
 	
+	/**
+	 * Gets the resolved enchantment values of an item stack.
+	 * Profiles are cached, so this is cheap to call for the same stack (or a damaged copy of it) repeatedly.
+	 *
+	 * @param stack the item stack
+	 * @return the enchantment profile of the stack
+	 */
+	public EnchantmentProfile getProfile(ItemStack stack) {
+		EnchantmentList enchantments = stack.get(DataComponents.ENCHANTMENTS);
+		return profiles.get(enchantments == null ? EnchantmentList.EMPTY : enchantments);
+	}
+	
 	@Override
 	public int getEquipmentLevel(LivingEntity entity, RegistryKey<Enchantment> enchantment) {
-		Iterator<ItemStack> iterator = CombatEnchantments.get(enchantment).getEquipment(entity).values().iterator();
+		List<EquipmentSlot> slots = CombatEnchantments.get(enchantment).getSlots();
 		
 		int total = 0;
-		while (iterator.hasNext()) {
-			ItemStack itemStack = iterator.next();
-			total += itemStack.get(DataComponents.ENCHANTMENTS).level(enchantment);
+		for (int i = 0; i < slots.size(); i++) {
+			ItemStack itemStack = entity.getEquipment(slots.get(i));
+			if (!itemStack.isAir()) total += getProfile(itemStack).getLevel(enchantment);
 		}
 		
 		return total;
@@ -114,13 +131,7 @@ public class VanillaEnchantmentFeature implements EnchantmentFeature, Registrabl
 	
 	@Override
 	public float getAttackDamage(ItemStack stack, EntityGroup group) {
-		AtomicReference<Float> result = new AtomicReference<>((float) 0);
-		stack.get(DataComponents.ENCHANTMENTS).enchantments().forEach((enchantment, level) -> {
-			CombatEnchantment combatEnchantment = CombatEnchantments.get(enchantment);
-			result.updateAndGet(v -> v + combatEnchantment.getAttackDamage(level, group, this, configuration));
-		});
-		
-		return result.get();
+		return getProfile(stack).getAttackDamage(group);
 	}
 	
 	@Override
@@ -154,7 +165,7 @@ public class VanillaEnchantmentFeature implements EnchantmentFeature, Registrabl
 	
 	@Override
 	public boolean shouldUnbreakingPreventDamage(ItemStack stack) {
-		int unbreakingLevel = stack.get(DataComponents.ENCHANTMENTS).level(Enchantment.UNBREAKING);
+		int unbreakingLevel = getProfile(stack).getUnbreaking();
 		if (unbreakingLevel <= 0) return false;
 		
 		ThreadLocalRandom random = ThreadLocalRandom.current();
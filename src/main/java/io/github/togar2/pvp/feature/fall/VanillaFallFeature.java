@@ -4,6 +4,7 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.state.PlayerStateFeature;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
@@ -35,7 +36,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaFallFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.FALL, VanillaFallFeature::new,
 			VanillaFallFeature::initPlayer,
-			FeatureType.PLAYER_STATE
+			FeatureType.PLAYER_STATE, FeatureType.COSMETICS
 	);
 	
 	public static final Tag<Double> FALL_DISTANCE = Tag.Transient("fallDistance");
@@ -44,6 +45,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 	private final FeatureConfiguration configuration;
 	
 	private PlayerStateFeature playerStateFeature;
+	private CosmeticsFeature cosmeticsFeature;
 	
 	public VanillaFallFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -52,6 +54,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 	@Override
 	public void initDependencies() {
 		this.playerStateFeature = configuration.get(FeatureType.PLAYER_STATE);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
 	}
 	
 	public static void initPlayer(Player player, boolean firstInit) {
@@ -109,7 +112,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 			Vec position = Vec.fromPoint(landingPos).apply(Vec.Operator.FLOOR).add(0.5, 1, 0.5);
 			int particleCount = (int) Math.max(0, Math.min(200, 50 * fallDistance));
 			
-			entity.sendPacketToViewersAndSelf(new ParticlePacket(
+			cosmeticsFeature.sendPacket(entity, new ParticlePacket(
 					Particle.BLOCK.withBlock(block),
 					position.x(), position.y(), position.z(),
 					0.3f, 0.3f, 0.3f,
@@ -126,7 +129,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 				double particleMultiplier = Math.min(0.2 + damageDistance / 15.0, 2.5);
 				int particleCount = (int) (150 * particleMultiplier);
 				
-				entity.sendPacketToViewersAndSelf(new ParticlePacket(
+				cosmeticsFeature.sendPacket(entity, new ParticlePacket(
 						Particle.BLOCK.withBlock(block), false,
 						false,
 						newPos.x(), newPos.y(), newPos.z(),
@@ -7,6 +7,7 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
+import io.github.togar2.pvp.utils.SlotWriteBuffer;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.EquipmentSlot;
@@ -77,9 +78,18 @@ public class VanillaItemDamageFeature implements ItemDamageFeature {
 	@Override
 	public void damageEquipment(LivingEntity entity, EquipmentSlot slot, int amount) {
 		EquipmentDamageEvent equipmentDamageEvent = new EquipmentDamageEvent(entity, slot, amount);
-		EventDispatcher.callCancellable(equipmentDamageEvent, () ->
-				entity.setEquipment(slot, damage(entity.getEquipment(slot), amount, entity,
-						e -> triggerEquipmentBreak(e, slot))));
+		EventDispatcher.callCancellable(equipmentDamageEvent, () -> {
+			ItemStack stack = SlotWriteBuffer.getEquipment(entity, slot);
+			ItemStack newStack = damage(stack, amount, entity, e -> triggerEquipmentBreak(e, slot));
+			if (newStack == stack) return;
+			
+			if (newStack.amount() < stack.amount()) {
+				// Broken items are removed right away, so they can not be used anymore during this tick
+				SlotWriteBuffer.setEquipmentImmediately(entity, slot, newStack);
+			} else {
+				SlotWriteBuffer.setEquipment(entity, slot, newStack);
+			}
+		});
 	}
 	
 	@Override
@@ -91,11 +101,11 @@ public class VanillaItemDamageFeature implements ItemDamageFeature {
 			damage = 1;
 		}
 		
+		DamageTypeInfo info = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
 		for (EquipmentSlot slot : slots) {
-			ItemStack stack = entity.getEquipment(slot);
-			DamageTypeInfo info = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
-			if (!(info.fire() && stack.material().key().value().toLowerCase().contains("netherite"))
-					&& ArmorMaterial.fromMaterial(stack.material()) != null) {
+			ItemStack stack = SlotWriteBuffer.getEquipment(entity, slot);
+			ArmorMaterial armorMaterial = ArmorMaterial.fromMaterial(stack.material());
+			if (armorMaterial != null && !(info.fire() && armorMaterial == ArmorMaterial.NETHERITE)) {
 				damageEquipment(entity, slot, (int) damage);
 			}
 		}
@@ -56,7 +56,7 @@ public class FairKnockbackFeature extends VanillaKnockbackFeature {
 	protected boolean applyKnockback(LivingEntity target, Entity attacker, @Nullable Entity source,
 	                                 EntityKnockbackEvent.KnockbackType type, int extraKnockback,
 	                                 double dx, double dz, boolean legacy) {
-		if (!(target instanceof Player player) || player.getLatency() < PING_OFFSET)
+		if (!(target instanceof Player player) || CombatPlayer.getEstimatedLatency(player) < PING_OFFSET)
 			return super.applyKnockback(target, attacker, source, type, extraKnockback, dx, dz, legacy);
 		
 		KnockbackValues values = prepareKnockback(target, attacker, source, type, extraKnockback, dx, dz, legacy);
@@ -73,7 +73,7 @@ public class FairKnockbackFeature extends VanillaKnockbackFeature {
 		} else {
 			// For modern versions and legacy non-attack knockback, the velocity is first divided by 2
 			
-			int latencyTicks = getLatencyTicks(player.getLatency());
+			int latencyTicks = getLatencyTicks(CombatPlayer.getEstimatedLatency(player));
 			double vertical;
 			if (isOnGroundClientSide(player, latencyTicks)) {
 				vertical = Math.min(values.verticalLimit(), velocity.y() / 2d + values.vertical());
@@ -0,0 +1,105 @@
+package io.github.togar2.pvp.feature.knockback;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link KnockbackSettings} compiled into tables of the horizontal and vertical strength
+ * for every extra knockback level, so applying knockback is a lookup and a multiplication by the knockback resistance.
+ * <p>
+ * The extra knockback level is the level of the knockback enchantment plus one for a sprint attack,
+ * levels above {@link #TABLE_LEVELS} are calculated when they are used.
+ * <p>
+ * Every instance can have its own profile, see {@link #set(Instance, KnockbackProfile)}.
+ * It is used as the default of the {@link io.github.togar2.pvp.events.EntityKnockbackEvent}
+ * for entities in that instance.
+ */
+public final class KnockbackProfile {
+	public static final int TABLE_LEVELS = 8;
+
+	public static final KnockbackProfile DEFAULT = compile(KnockbackSettings.DEFAULT);
+
+	private static final Tag<KnockbackProfile> PROFILE = Tag.Transient("knockbackProfile");
+
+	private final KnockbackSettings settings;
+	private final double[] horizontal = new double[TABLE_LEVELS + 1];
+	private final double[] modernVertical = new double[TABLE_LEVELS + 1];
+	private final double[] legacyVertical = new double[TABLE_LEVELS + 1];
+
+	private KnockbackProfile(KnockbackSettings settings) {
+		this.settings = settings;
+
+		horizontal[0] = settings.horizontal();
+		modernVertical[0] = settings.vertical();
+		legacyVertical[0] = settings.vertical();
+		for (int level = 1; level <= TABLE_LEVELS; level++) {
+			horizontal[level] = settings.extraHorizontal() * level;
+			modernVertical[level] = (settings.vertical() + settings.extraVertical()) * level;
+			legacyVertical[level] = settings.extraVertical() * level;
+		}
+	}
+
+	/**
+	 * Compiles knockback settings into a profile.
+	 *
+	 * @param settings the settings
+	 * @return the profile
+	 */
+	public static KnockbackProfile compile(KnockbackSettings settings) {
+		return new KnockbackProfile(settings);
+	}
+
+	public KnockbackSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * @param level the extra knockback level, 0 for default knockback
+	 * @return the horizontal strength, before knockback resistance
+	 */
+	public double horizontal(int level) {
+		if (level <= 0) return horizontal[0];
+		if (level <= TABLE_LEVELS) return horizontal[level];
+		return settings.extraHorizontal() * level;
+	}
+
+	/**
+	 * @param level the extra knockback level, 0 for default knockback
+	 * @param legacy whether to use legacy (pre-1.9) knockback,
+	 *               where extra knockback does not include the default vertical strength
+	 * @return the vertical strength, before knockback resistance
+	 */
+	public double vertical(int level, boolean legacy) {
+		if (level <= 0) return modernVertical[0];
+		if (level <= TABLE_LEVELS) return legacy ? legacyVertical[level] : modernVertical[level];
+		return (legacy ? settings.extraVertical() : settings.vertical() + settings.extraVertical()) * level;
+	}
+
+	public double verticalLimit() {
+		return settings.verticalLimit();
+	}
+
+	/**
+	 * Gets the knockback profile used in an instance.
+	 *
+	 * @param instance the instance, or null for the default profile
+	 * @return the profile of the instance, or {@link #DEFAULT} if it has none
+	 */
+	public static KnockbackProfile get(@Nullable Instance instance) {
+		if (instance == null) return DEFAULT;
+		KnockbackProfile profile = instance.getTag(PROFILE);
+		return profile == null ? DEFAULT : profile;
+	}
+
+	/**
+	 * Sets the knockback profile used in an instance.
+	 * Knockback applied after this call uses the new profile, there is no moment where it is partially applied.
+	 *
+	 * @param instance the instance
+	 * @param profile the profile, or null to go back to {@link #DEFAULT}
+	 */
+	public static void set(Instance instance, @Nullable KnockbackProfile profile) {
+		instance.setTag(PROFILE, profile);
+	}
+}
@@ -24,6 +24,16 @@ public record KnockbackSettings(double horizontal, double vertical,
 		this.extraVertical = extraVertical * tps;
 	}
 	
+	/**
+	 * Compiles these settings into a {@link KnockbackProfile}.
+	 * Compile settings once and reuse the profile when they are used for many hits.
+	 *
+	 * @return the profile
+	 */
+	public KnockbackProfile compile() {
+		return KnockbackProfile.compile(this);
+	}
+	
 	public static Builder builder() {
 		return new Builder();
 	}
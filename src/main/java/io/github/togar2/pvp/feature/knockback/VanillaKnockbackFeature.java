@@ -114,34 +114,20 @@ public class VanillaKnockbackFeature implements KnockbackFeature {
 				: type == EntityKnockbackEvent.KnockbackType.DAMAGE
 						? EntityKnockbackEvent.AnimationType.DIRECTIONAL
 						: EntityKnockbackEvent.AnimationType.FIXED;
-		EntityKnockbackEvent knockbackEvent = new EntityKnockbackEvent(target, source == null ? attacker : source, type, animationType);
+		EntityKnockbackEvent knockbackEvent = new EntityKnockbackEvent(target, source == null ? attacker : source,
+				type, animationType, KnockbackProfile.get(target.getInstance()));
 		EventDispatcher.call(knockbackEvent);
 		if (knockbackEvent.isCancelled()) return null;
 		
-		KnockbackSettings settings = knockbackEvent.getSettings();
-		
-		double kbResistance = target.getAttributeValue(Attribute.KNOCKBACK_RESISTANCE);
-		double horizontal, vertical;
-		if (extraKnockback <= 0) {
-			// Default knockback
-			horizontal = settings.horizontal();
-			vertical = settings.vertical();
-		} else {
-			// Extra knockback
-			double baseVertical = legacy ?
-					settings.extraVertical() : // Legacy: defaults to 0.1
-					settings.vertical() + settings.extraVertical(); // Modern: defaults to 0.1 + 0.4 = 0.5
-			
-			horizontal = settings.extraHorizontal() * extraKnockback;
-			vertical = baseVertical * extraKnockback;
-		}
-		
-		horizontal *= (1 - kbResistance);
-		vertical *= (1 - kbResistance);
+		// Extra knockback in legacy defaults to 0.1 vertical, in modern to 0.1 + 0.4 = 0.5
+		KnockbackProfile profile = knockbackEvent.getProfile();
+		double resistanceFactor = 1 - target.getAttributeValue(Attribute.KNOCKBACK_RESISTANCE);
+		double horizontal = profile.horizontal(extraKnockback) * resistanceFactor;
+		double vertical = profile.vertical(extraKnockback, legacy) * resistanceFactor;
 		if (horizontal <= 0 && vertical <= 0) return null;
 		
 		Vec horizontalModifier = new Vec(dx, dz).normalize().mul(horizontal);
-		return new KnockbackValues(horizontalModifier, vertical, settings.verticalLimit(), knockbackEvent.getAnimationType());
+		return new KnockbackValues(horizontalModifier, vertical, profile.verticalLimit(), knockbackEvent.getAnimationType());
 	}
 	
 	protected boolean applyKnockback(LivingEntity target, Entity attacker, @Nullable Entity source,
@@ -0,0 +1,54 @@
+package io.github.togar2.pvp.feature.lag;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Combat feature which keeps track of where entities were in the recent past,
+ * so hits can be validated against the position the attacker saw instead of the current one.
+ */
+public interface LagCompensationFeature extends CombatFeature {
+	LagCompensationFeature NO_OP = new LagCompensationFeature() {
+		@Override
+		public int getRewindTicks(Player viewer) {
+			return 0;
+		}
+
+		@Override
+		public @Nullable PositionHistory getHistory(Entity entity) {
+			return null;
+		}
+	};
+
+	/**
+	 * Gets the amount of ticks the entities a player sees are behind the server.
+	 *
+	 * @param viewer the player
+	 * @return the amount of ticks to rewind other entities for this player
+	 */
+	int getRewindTicks(Player viewer);
+
+	/**
+	 * Gets the position history of an entity.
+	 *
+	 * @param entity the entity
+	 * @return the history, or null if the entity has no recorded history
+	 */
+	@Nullable PositionHistory getHistory(Entity entity);
+
+	/**
+	 * Gets the position of an entity as seen by a player.
+	 *
+	 * @param entity the entity
+	 * @param viewer the player looking at the entity
+	 * @return the rewound position, or the current position if there is no history
+	 */
+	default Point getRewoundPosition(Entity entity, Player viewer) {
+		PositionHistory history = getHistory(entity);
+		if (history == null || history.size() == 0) return entity.getPosition();
+		return history.position(getRewindTicks(viewer));
+	}
+}
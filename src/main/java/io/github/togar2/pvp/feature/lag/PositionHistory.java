@@ -0,0 +1,97 @@
+package io.github.togar2.pvp.feature.lag;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+
+/**
+ * A fixed size history of the positions and hitbox sizes of an entity, with one sample per tick.
+ * <p>
+ * Samples are stored in a primitive ring buffer, so recording a sample does not allocate
+ * and looking up the sample of a given amount of ticks ago is a single index computation.
+ * Lookups further back than the history reaches return the oldest sample.
+ */
+public final class PositionHistory {
+	private static final int STRIDE = 5;
+
+	private final int capacity;
+	private final double[] samples;
+	private long count;
+	private Instance instance;
+
+	PositionHistory(int capacity) {
+		this.capacity = capacity;
+		this.samples = new double[capacity * STRIDE];
+	}
+
+	void record(Entity entity) {
+		// Positions in another instance can not be compared
+		if (entity.getInstance() != instance) {
+			instance = entity.getInstance();
+			count = 0;
+		}
+
+		Pos position = entity.getPosition();
+		BoundingBox boundingBox = entity.getBoundingBox();
+
+		int offset = (int) (count % capacity) * STRIDE;
+		samples[offset] = position.x();
+		samples[offset + 1] = position.y();
+		samples[offset + 2] = position.z();
+		samples[offset + 3] = boundingBox.width();
+		samples[offset + 4] = boundingBox.height();
+		count++;
+	}
+
+	/**
+	 * @return the amount of samples which can be looked up
+	 */
+	public int size() {
+		return (int) Math.min(count, capacity);
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	private int offset(int ticksAgo) {
+		int available = size();
+		if (available == 0) throw new IllegalStateException("History is empty");
+
+		int back = Math.max(0, Math.min(ticksAgo, available - 1));
+		return (int) ((count - 1 - back) % capacity) * STRIDE;
+	}
+
+	public double x(int ticksAgo) {
+		return samples[offset(ticksAgo)];
+	}
+
+	public double y(int ticksAgo) {
+		return samples[offset(ticksAgo) + 1];
+	}
+
+	public double z(int ticksAgo) {
+		return samples[offset(ticksAgo) + 2];
+	}
+
+	public double width(int ticksAgo) {
+		return samples[offset(ticksAgo) + 3];
+	}
+
+	public double height(int ticksAgo) {
+		return samples[offset(ticksAgo) + 4];
+	}
+
+	/**
+	 * Gets the position of the entity a given amount of ticks ago.
+	 *
+	 * @param ticksAgo the amount of ticks to go back, 0 being the most recent sample
+	 * @return the position
+	 */
+	public Vec position(int ticksAgo) {
+		int offset = offset(ticksAgo);
+		return new Vec(samples[offset], samples[offset + 1], samples[offset + 2]);
+	}
+}
@@ -0,0 +1,87 @@
+package io.github.togar2.pvp.feature.lag;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.RegistrableFeature;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import io.github.togar2.pvp.player.CombatPlayer;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntityTickEvent;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Vanilla implementation of {@link LagCompensationFeature}
+ * <p>
+ * Records a {@link PositionHistory} for every living entity each tick.
+ * A player is assumed to see other entities as they were one round trip ago,
+ * plus a configurable amount of ticks for the interpolation of entity movement on the client.
+ */
+public class VanillaLagCompensationFeature implements LagCompensationFeature, RegistrableFeature {
+	public static final int DEFAULT_HISTORY_TICKS = 20;
+
+	public static final DefinedFeature<VanillaLagCompensationFeature> DEFINED = defined(DEFAULT_HISTORY_TICKS, 0);
+
+	private static final Tag<PositionHistory> HISTORY = Tag.Transient("positionHistory");
+	private static final double MILLIS_PER_TICK = 1000.0 / ServerFlag.SERVER_TICKS_PER_SECOND;
+
+	private final int historyTicks;
+	private final int interpolationTicks;
+
+	public VanillaLagCompensationFeature(int historyTicks, int interpolationTicks) {
+		if (historyTicks <= 0) throw new IllegalArgumentException("History must hold at least one tick");
+		this.historyTicks = historyTicks;
+		this.interpolationTicks = interpolationTicks;
+	}
+
+	/**
+	 * Creates a defined lag compensation feature.
+	 *
+	 * @param historyTicks the amount of ticks to keep the position of every entity for,
+	 *                     which is also the maximum amount of ticks a hit can be rewound
+	 * @param interpolationTicks the amount of ticks added to the latency of a player when rewinding
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<VanillaLagCompensationFeature> defined(int historyTicks, int interpolationTicks) {
+		return new DefinedFeature<>(
+				FeatureType.LAG_COMPENSATION,
+				configuration -> new VanillaLagCompensationFeature(historyTicks, interpolationTicks)
+		);
+	}
+
+	@Override
+	public int getPriority() {
+		// Positions should be recorded before other features use them
+		return -1;
+	}
+
+	@Override
+	public void init(EventNode<EntityInstanceEvent> node) {
+		node.addListener(EntityTickEvent.class, event -> {
+			if (!(event.getEntity() instanceof LivingEntity entity)) return;
+
+			PositionHistory history = entity.getTag(HISTORY);
+			if (history == null) {
+				history = new PositionHistory(historyTicks);
+				entity.setTag(HISTORY, history);
+			}
+
+			history.record(entity);
+		});
+	}
+
+	@Override
+	public int getRewindTicks(Player viewer) {
+		int ticks = (int) Math.round(CombatPlayer.getEstimatedLatency(viewer) / MILLIS_PER_TICK) + interpolationTicks;
+		return Math.max(0, Math.min(ticks, historyTicks - 1));
+	}
+
+	@Override
+	public @Nullable PositionHistory getHistory(Entity entity) {
+		return entity.getTag(HISTORY);
+	}
+}
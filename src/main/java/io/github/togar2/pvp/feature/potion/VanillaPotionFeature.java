@@ -5,6 +5,7 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.effect.EffectFeature;
 import io.github.togar2.pvp.feature.food.ExhaustionFeature;
 import io.github.togar2.pvp.feature.food.FoodFeature;
@@ -38,7 +39,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaPotionFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.POTION, VanillaPotionFeature::new,
-			FeatureType.EFFECT, FeatureType.EXHAUSTION, FeatureType.FOOD
+			FeatureType.EFFECT, FeatureType.EXHAUSTION, FeatureType.FOOD, FeatureType.COSMETICS
 	);
 
 	private static final int USE_TICKS = 32;
@@ -48,6 +49,7 @@ public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 	private EffectFeature effectFeature;
 	private ExhaustionFeature exhaustionFeature;
 	private FoodFeature foodFeature;
+	private CosmeticsFeature cosmeticsFeature;
 
 	public VanillaPotionFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -58,6 +60,7 @@ public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 		this.effectFeature = configuration.get(FeatureType.EFFECT);
 		this.exhaustionFeature = configuration.get(FeatureType.EXHAUSTION);
 		this.foodFeature = configuration.get(FeatureType.FOOD);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
 	}
 
 	@Override
@@ -139,7 +142,7 @@ public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 	}
 
 	protected void throwPotion(Player player, ItemStack stack, PlayerHand hand) {
-		ThrownPotion thrownPotion = new ThrownPotion(player, effectFeature, false);
+		ThrownPotion thrownPotion = new ThrownPotion(player, effectFeature, cosmeticsFeature, false);
 		thrownPotion.setItem(stack);
 
 		Pos position = player.getPosition().add(0, player.getEyeHeight(), 0);
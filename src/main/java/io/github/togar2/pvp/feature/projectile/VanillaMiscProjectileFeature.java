@@ -6,6 +6,7 @@ import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.cooldown.ItemCooldownFeature;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.fall.FallFeature;
 import io.github.togar2.pvp.utils.ViewUtil;
 import net.kyori.adventure.sound.Sound;
@@ -29,13 +30,14 @@ import java.util.concurrent.ThreadLocalRandom;
 public class VanillaMiscProjectileFeature implements MiscProjectileFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaMiscProjectileFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.MISC_PROJECTILE, VanillaMiscProjectileFeature::new,
-			FeatureType.ITEM_COOLDOWN, FeatureType.FALL
+			FeatureType.ITEM_COOLDOWN, FeatureType.FALL, FeatureType.COSMETICS
 	);
 	
 	private final FeatureConfiguration configuration;
 	
 	private ItemCooldownFeature itemCooldownFeature;
 	private FallFeature fallFeature;
+	private CosmeticsFeature cosmeticsFeature;
 	
 	public VanillaMiscProjectileFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -45,6 +47,7 @@ public class VanillaMiscProjectileFeature implements MiscProjectileFeature, Regi
 	public void initDependencies() {
 		this.itemCooldownFeature = configuration.get(FeatureType.ITEM_COOLDOWN);
 		this.fallFeature = configuration.get(FeatureType.FALL);
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
 	}
 	
 	@Override
@@ -68,7 +71,7 @@ public class VanillaMiscProjectileFeature implements MiscProjectileFeature, Regi
 				projectile = new Snowball(player);
 			} else if (enderpearl) {
 				soundEvent = SoundEvent.ENTITY_ENDER_PEARL_THROW;
-				projectile = new ThrownEnderpearl(player, fallFeature);
+				projectile = new ThrownEnderpearl(player, fallFeature, cosmeticsFeature);
 			} else {
 				soundEvent = SoundEvent.ENTITY_EGG_THROW;
 				projectile = new ThrownEgg(player);
@@ -7,6 +7,8 @@ import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
+import io.github.togar2.pvp.feature.spatial.CombatantBuffer;
+import io.github.togar2.pvp.feature.spatial.SpatialIndexFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.utils.FluidUtil;
 import io.github.togar2.pvp.utils.ViewUtil;
@@ -22,7 +24,6 @@ import net.minestom.server.event.entity.EntityAttackEvent;
 import net.minestom.server.event.item.PlayerCancelItemUseEvent;
 import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
-import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.item.enchant.Enchantment;
@@ -30,7 +31,6 @@ import net.minestom.server.sound.SoundEvent;
 import net.minestom.server.tag.Tag;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Vanilla implementation of {@link TridentFeature}
@@ -38,13 +38,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class VanillaTridentFeature implements TridentFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaTridentFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.TRIDENT, VanillaTridentFeature::new,
-			FeatureType.ITEM_DAMAGE, FeatureType.ENCHANTMENT
+			FeatureType.ITEM_DAMAGE, FeatureType.ENCHANTMENT, FeatureType.SPATIAL_INDEX
 	);
 	
 	private final FeatureConfiguration configuration;
 	
 	private ItemDamageFeature itemDamageFeature;
 	private EnchantmentFeature enchantmentFeature;
+	private SpatialIndexFeature spatialIndexFeature;
 	
 	public static final Tag<Long> RIPTIDE_START = Tag.Long("riptideStart");
 	
@@ -56,6 +57,7 @@ public class VanillaTridentFeature implements TridentFeature, RegistrableFeature
 	public void initDependencies() {
 		this.itemDamageFeature = configuration.get(FeatureType.ITEM_DAMAGE);
 		this.enchantmentFeature = configuration.get(FeatureType.ENCHANTMENT);
+		this.spatialIndexFeature = configuration.get(FeatureType.SPATIAL_INDEX);
 	}
 	
 	@Override
@@ -99,25 +101,31 @@ public class VanillaTridentFeature implements TridentFeature, RegistrableFeature
 			if (event.getPlayer().getPlayerMeta().isInRiptideSpinAttack()) {
 				Player player = event.getPlayer();
 				long ticks = player.getAliveTicks() - player.getTag(RIPTIDE_START);
-				AtomicBoolean stopRiptide = new AtomicBoolean(ticks >= 20);
+				boolean stopRiptide = ticks >= 20;
 				
 				assert player.getInstance() != null;
-				player.getInstance().getEntityTracker().nearbyEntities(player.getPosition(), 5,
-						EntityTracker.Target.ENTITIES, entity -> {
-							if (entity != player && !stopRiptide.get() && entity instanceof LivingEntity
-									&& entity.getBoundingBox().intersectEntity(entity.getPosition(), player)) {
-								stopRiptide.set(true);
-								
-								var attackEvent = new EntityAttackEvent(player, entity);
-								EventDispatcher.call(attackEvent);
-								if (player instanceof CombatPlayer combatPlayer)
-									combatPlayer.setVelocityNoUpdate(velocity -> velocity.mul(-0.2));
-							}
-						});
+				CombatantBuffer nearbyEntities = CombatantBuffer.acquire();
+				try {
+					if (!stopRiptide) spatialIndexFeature.querySphere(player.getInstance(), player.getPosition(), 5, nearbyEntities);
+					
+					for (int i = 0; i < nearbyEntities.size(); i++) {
+						LivingEntity entity = nearbyEntities.get(i);
+						if (entity == player || !entity.getBoundingBox().intersectEntity(entity.getPosition(), player)) continue;
+						stopRiptide = true;
+						
+						var attackEvent = new EntityAttackEvent(player, entity);
+						EventDispatcher.call(attackEvent);
+						if (player instanceof CombatPlayer combatPlayer)
+							combatPlayer.setVelocityNoUpdate(velocity -> velocity.mul(-0.2));
+						break;
+					}
+				} finally {
+					nearbyEntities.release();
+				}
 				
 				//TODO detect player bouncing against wall
 				
-				if (stopRiptide.get())
+				if (stopRiptide)
 					event.getPlayer().refreshActiveHand(false, false, false);
 			}
 		});
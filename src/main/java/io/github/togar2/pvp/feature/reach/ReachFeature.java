@@ -0,0 +1,40 @@
+package io.github.togar2.pvp.feature.reach;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.attribute.Attribute;
+
+/**
+ * Combat feature which validates whether a player could actually reach the entity they attacked.
+ */
+public interface ReachFeature extends CombatFeature {
+	/**
+	 * The distance an attacker may be away from the target on top of their interaction range,
+	 * when no reach feature is configured.
+	 */
+	double DEFAULT_RANGE_MARGIN = 3.0;
+
+	/**
+	 * Used when no reach feature is configured, so attacks are still bounded by distance.
+	 * Only the distance to the eyes of the target is checked, not the line of sight.
+	 */
+	ReachFeature NO_OP = (attacker, target) -> {
+		double maxDistance = attacker.getAttributeValue(Attribute.ENTITY_INTERACTION_RANGE) + DEFAULT_RANGE_MARGIN;
+		Pos targetPosition = target.getPosition();
+		double distanceSquared = attacker.getPosition().distanceSquared(
+				targetPosition.x(), targetPosition.y() + target.getEyeHeight(), targetPosition.z()
+		);
+		return distanceSquared < maxDistance * maxDistance ? ReachResult.VALID : ReachResult.OUT_OF_RANGE;
+	};
+
+	/**
+	 * Checks whether an attack of a player on an entity is within reach.
+	 *
+	 * @param attacker the attacking player
+	 * @param target the attacked entity
+	 * @return the result of the check
+	 */
+	ReachResult checkReach(Player attacker, Entity target);
+}
@@ -0,0 +1,23 @@
+package io.github.togar2.pvp.feature.reach;
+
+/**
+ * The outcome of a reach check of an attack.
+ */
+public enum ReachResult {
+	/**
+	 * The line of sight of the attacker hits the target hitbox within range.
+	 */
+	VALID,
+	/**
+	 * The target hitbox is further away than the attacker can reach.
+	 */
+	OUT_OF_RANGE,
+	/**
+	 * The target hitbox is within range, but the attacker is not looking at it.
+	 */
+	MISSED_HITBOX;
+
+	public boolean isValid() {
+		return this == VALID;
+	}
+}
@@ -0,0 +1,161 @@
+package io.github.togar2.pvp.feature.reach;
+
+import io.github.togar2.pvp.events.AttackReachRejectEvent;
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.lag.LagCompensationFeature;
+import io.github.togar2.pvp.feature.lag.PositionHistory;
+import io.github.togar2.pvp.utils.CombatVersion;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.event.EventDispatcher;
+
+/**
+ * Vanilla implementation of {@link ReachFeature}
+ * <p>
+ * Casts the line of sight of the attacker against the hitbox of the target, as the attacker saw it
+ * according to the {@link LagCompensationFeature}. The hitbox is expanded by 0.1 blocks for legacy versions,
+ * like legacy clients do, and additionally by a configurable tolerance for rotation and movement inaccuracies.
+ * The attack is valid if the ray hits the hitbox within the entity interaction range of the attacker.
+ * <p>
+ * Rejected attacks call an {@link AttackReachRejectEvent}.
+ */
+public class VanillaReachFeature implements ReachFeature {
+	public static final double DEFAULT_TOLERANCE = 0.1;
+
+	public static final DefinedFeature<VanillaReachFeature> DEFINED = defined(DEFAULT_TOLERANCE);
+
+	private static final double LEGACY_HITBOX_EXPANSION = 0.1;
+	private static final double EPSILON = 1.0E-7;
+
+	private final FeatureConfiguration configuration;
+	private final double tolerance;
+
+	private LagCompensationFeature lagCompensationFeature;
+	private CombatVersion version;
+
+	public VanillaReachFeature(FeatureConfiguration configuration, double tolerance) {
+		this.configuration = configuration;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Creates a defined reach feature.
+	 *
+	 * @param tolerance the amount of blocks to expand target hitboxes by
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<VanillaReachFeature> defined(double tolerance) {
+		return new DefinedFeature<>(
+				FeatureType.REACH, configuration -> new VanillaReachFeature(configuration, tolerance),
+				FeatureType.LAG_COMPENSATION, FeatureType.VERSION
+		);
+	}
+
+	@Override
+	public void initDependencies() {
+		this.lagCompensationFeature = configuration.get(FeatureType.LAG_COMPENSATION);
+		this.version = configuration.get(FeatureType.VERSION);
+	}
+
+	@Override
+	public ReachResult checkReach(Player attacker, Entity target) {
+		Pos position = attacker.getPosition();
+		double originX = position.x();
+		double originY = position.y() + attacker.getEyeHeight();
+		double originZ = position.z();
+		double range = attacker.getAttributeValue(Attribute.ENTITY_INTERACTION_RANGE);
+
+		double x, y, z, width, height;
+		PositionHistory history = lagCompensationFeature.getHistory(target);
+		if (history != null && history.size() > 0) {
+			int ticks = lagCompensationFeature.getRewindTicks(attacker);
+			x = history.x(ticks);
+			y = history.y(ticks);
+			z = history.z(ticks);
+			width = history.width(ticks);
+			height = history.height(ticks);
+		} else {
+			Pos targetPosition = target.getPosition();
+			BoundingBox boundingBox = target.getBoundingBox();
+			x = targetPosition.x();
+			y = targetPosition.y();
+			z = targetPosition.z();
+			width = boundingBox.width();
+			height = boundingBox.height();
+		}
+
+		double expansion = getHitboxExpansion() + tolerance;
+		double halfWidth = width / 2 + expansion;
+		double minX = x - halfWidth, maxX = x + halfWidth;
+		double minY = y - expansion, maxY = y + height + expansion;
+		double minZ = z - halfWidth, maxZ = z + halfWidth;
+
+		// Shortest distance to the hitbox, which no ray can beat
+		double closestX = Math.max(minX - originX, Math.max(0, originX - maxX));
+		double closestY = Math.max(minY - originY, Math.max(0, originY - maxY));
+		double closestZ = Math.max(minZ - originZ, Math.max(0, originZ - maxZ));
+		double closestSquared = closestX * closestX + closestY * closestY + closestZ * closestZ;
+		if (closestSquared == 0) return ReachResult.VALID; // Eyes are inside the hitbox
+		if (closestSquared > range * range) return reject(attacker, target, ReachResult.OUT_OF_RANGE, Math.sqrt(closestSquared));
+
+		double yaw = Math.toRadians(position.yaw());
+		double pitch = Math.toRadians(position.pitch());
+		double cosPitch = Math.cos(pitch);
+		double directionX = -Math.sin(yaw) * cosPitch;
+		double directionY = -Math.sin(pitch);
+		double directionZ = Math.cos(yaw) * cosPitch;
+
+		// Slab test: intersect the ray with the three pairs of hitbox planes
+		double near = 0;
+		double far = Double.POSITIVE_INFINITY;
+
+		if (Math.abs(directionX) < EPSILON) {
+			if (originX < minX || originX > maxX) return reject(attacker, target, ReachResult.MISSED_HITBOX, Math.sqrt(closestSquared));
+		} else {
+			double first = (minX - originX) / directionX;
+			double second = (maxX - originX) / directionX;
+			near = Math.max(near, Math.min(first, second));
+			far = Math.min(far, Math.max(first, second));
+		}
+
+		if (Math.abs(directionY) < EPSILON) {
+			if (originY < minY || originY > maxY) return reject(attacker, target, ReachResult.MISSED_HITBOX, Math.sqrt(closestSquared));
+		} else {
+			double first = (minY - originY) / directionY;
+			double second = (maxY - originY) / directionY;
+			near = Math.max(near, Math.min(first, second));
+			far = Math.min(far, Math.max(first, second));
+		}
+
+		if (Math.abs(directionZ) < EPSILON) {
+			if (originZ < minZ || originZ > maxZ) return reject(attacker, target, ReachResult.MISSED_HITBOX, Math.sqrt(closestSquared));
+		} else {
+			double first = (minZ - originZ) / directionZ;
+			double second = (maxZ - originZ) / directionZ;
+			near = Math.max(near, Math.min(first, second));
+			far = Math.min(far, Math.max(first, second));
+		}
+
+		if (near > far) return reject(attacker, target, ReachResult.MISSED_HITBOX, Math.sqrt(closestSquared));
+		if (near > range) return reject(attacker, target, ReachResult.OUT_OF_RANGE, near);
+		return ReachResult.VALID;
+	}
+
+	/**
+	 * @return the amount of blocks the client expands hitboxes by when picking the entity it is looking at
+	 */
+	protected double getHitboxExpansion() {
+		return version.legacy() ? LEGACY_HITBOX_EXPANSION : 0;
+	}
+
+	protected ReachResult reject(Player attacker, Entity target, ReachResult result, double distance) {
+		AttackReachRejectEvent event = new AttackReachRejectEvent(attacker, target, result, distance);
+		EventDispatcher.call(event);
+		return event.isCancelled() ? ReachResult.VALID : result;
+	}
+}
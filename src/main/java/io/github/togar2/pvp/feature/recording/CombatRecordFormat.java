@@ -0,0 +1,57 @@
+package io.github.togar2.pvp.feature.recording;
+
+/**
+ * Describes the binary layout of the segment files written by {@link MappedRecorderFeature}.
+ * <p>
+ * Every segment starts with a header of {@link #HEADER_SIZE} bytes, followed by records of {@link #RECORD_SIZE} bytes.
+ * All values are stored in big endian byte order.
+ * The record count in the header is only updated after a record has been fully written,
+ * so a reader never sees a partially written record.
+ * <p>
+ * Entity ids are {@code -1} and attacker positions are {@code NaN} if there was no such entity.
+ * Knockback is the change in velocity of the victim it caused, in blocks per second.
+ * Version 1 stored the velocity of the victim after knockback instead.
+ */
+public final class CombatRecordFormat {
+	public static final int MAGIC = 0x434D4254; // "CMBT"
+	public static final int VERSION = 2;
+
+	// Header
+	public static final int HEADER_MAGIC = 0;
+	public static final int HEADER_VERSION = 4;
+	public static final int HEADER_RECORD_SIZE = 8;
+	public static final int HEADER_RECORD_COUNT = 12;
+	public static final int HEADER_INSTANCE_MOST = 16;
+	public static final int HEADER_INSTANCE_LEAST = 24;
+	public static final int HEADER_SIZE = 32;
+
+	// Record
+	public static final int TICK = 0;
+	public static final int ATTACKER = 8;
+	public static final int VICTIM = 12;
+	public static final int DAMAGE_TYPE = 16;
+	public static final int AMOUNT = 20;
+	public static final int KNOCKBACK_X = 24;
+	public static final int KNOCKBACK_Y = 28;
+	public static final int KNOCKBACK_Z = 32;
+	public static final int SOURCE = 36;
+	public static final int VICTIM_X = 40;
+	public static final int VICTIM_Y = 48;
+	public static final int VICTIM_Z = 56;
+	public static final int ATTACKER_X = 64;
+	public static final int ATTACKER_Y = 72;
+	public static final int ATTACKER_Z = 80;
+	public static final int RECORD_SIZE = 88;
+
+	private CombatRecordFormat() {}
+
+	/**
+	 * Returns the file name of a segment, which sorts in the order the segments were written.
+	 *
+	 * @param segment the index of the segment
+	 * @return the file name
+	 */
+	public static String segmentFileName(int segment) {
+		return String.format("segment-%06d.bin", segment);
+	}
+}
@@ -0,0 +1,216 @@
+package io.github.togar2.pvp.feature.recording;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.event.instance.InstanceUnregisterEvent;
+import net.minestom.server.instance.Instance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link RecorderFeature} which writes every hit as a fixed size binary record
+ * into memory-mapped, append-only segment files. Every instance gets its own directory of segments,
+ * named after the instance uuid. The layout of the files is described in {@link CombatRecordFormat}.
+ * <p>
+ * Writing a record only consists of primitive writes into the mapped buffer, so nothing is allocated per hit.
+ * Only mapping a new segment (the first hit in an instance, or when a segment is full) allocates.
+ * <p>
+ * Segments are flushed to disk by the operating system. Use {@link #close(Instance)} or {@link #closeAll()}
+ * to force them to disk, for example when a match ends.
+ * The recording of an instance is closed automatically when the instance is unregistered.
+ */
+public class MappedRecorderFeature implements RecorderFeature {
+	/**
+	 * The default amount of records per segment, which results in segments of about 5.5 MiB.
+	 */
+	public static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+
+	private final Path directory;
+	private final int segmentRecords;
+	private final Map<UUID, Recording> recordings = new ConcurrentHashMap<>();
+	private final AtomicBoolean listening = new AtomicBoolean();
+
+	public MappedRecorderFeature(Path directory, int segmentRecords) {
+		if (segmentRecords <= 0) throw new IllegalArgumentException("Segments must hold at least one record");
+		this.directory = directory;
+		this.segmentRecords = segmentRecords;
+	}
+
+	/**
+	 * Creates a defined recorder feature which writes to the given directory.
+	 *
+	 * @param directory the directory to create the segment files in
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<MappedRecorderFeature> defined(Path directory) {
+		return defined(directory, DEFAULT_SEGMENT_RECORDS);
+	}
+
+	/**
+	 * Creates a defined recorder feature which writes to the given directory.
+	 *
+	 * @param directory the directory to create the segment files in
+	 * @param segmentRecords the amount of records a segment can hold before a new one is started
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<MappedRecorderFeature> defined(Path directory, int segmentRecords) {
+		return new DefinedFeature<>(
+				FeatureType.RECORDER, configuration -> new MappedRecorderFeature(directory, segmentRecords)
+		);
+	}
+
+	@Override
+	public void recordDamage(LivingEntity victim, Damage damage, double knockbackX, double knockbackY, double knockbackZ) {
+		Instance instance = victim.getInstance();
+		if (instance == null) return;
+
+		Recording recording = recordings.get(instance.getUuid());
+		if (recording == null) recording = recordings.computeIfAbsent(instance.getUuid(), this::createRecording);
+
+		recording.write(instance.getWorldAge(), victim, damage, knockbackX, knockbackY, knockbackZ);
+	}
+
+	/**
+	 * Forces the segment of the given instance to disk and stops recording it.
+	 * A new segment will be started if a hit is recorded in the instance afterward.
+	 *
+	 * @param instance the instance to stop recording
+	 */
+	public void close(Instance instance) {
+		Recording recording = recordings.remove(instance.getUuid());
+		if (recording != null) recording.close();
+	}
+
+	/**
+	 * Forces all segments to disk and stops recording all instances.
+	 */
+	public void closeAll() {
+		for (UUID uuid : recordings.keySet()) {
+			Recording recording = recordings.remove(uuid);
+			if (recording != null) recording.close();
+		}
+	}
+
+	private Recording createRecording(UUID instanceUuid) {
+		// Only registered once something is recorded, so unused recorders do not add a listener
+		if (listening.compareAndSet(false, true)) {
+			MinecraftServer.getGlobalEventHandler().addListener(InstanceUnregisterEvent.class,
+					event -> close(event.getInstance()));
+		}
+
+		Path instanceDirectory = directory.resolve(instanceUuid.toString());
+		try {
+			Files.createDirectories(instanceDirectory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		// Continue after the segments of a previous recording of this instance
+		int segment = 0;
+		while (Files.exists(instanceDirectory.resolve(CombatRecordFormat.segmentFileName(segment)))) {
+			segment++;
+		}
+
+		return new Recording(instanceUuid, instanceDirectory, segment);
+	}
+
+	private final class Recording {
+		private final UUID instanceUuid;
+		private final Path directory;
+
+		private int segment;
+		private MappedByteBuffer buffer;
+		private int count;
+
+		private Recording(UUID instanceUuid, Path directory, int segment) {
+			this.instanceUuid = instanceUuid;
+			this.directory = directory;
+			this.segment = segment;
+			this.buffer = map(segment);
+		}
+
+		private MappedByteBuffer map(int segment) {
+			Path path = directory.resolve(CombatRecordFormat.segmentFileName(segment));
+			long size = CombatRecordFormat.HEADER_SIZE + (long) segmentRecords * CombatRecordFormat.RECORD_SIZE;
+
+			MappedByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			buffer.putInt(CombatRecordFormat.HEADER_MAGIC, CombatRecordFormat.MAGIC);
+			buffer.putInt(CombatRecordFormat.HEADER_VERSION, CombatRecordFormat.VERSION);
+			buffer.putInt(CombatRecordFormat.HEADER_RECORD_SIZE, CombatRecordFormat.RECORD_SIZE);
+			buffer.putInt(CombatRecordFormat.HEADER_RECORD_COUNT, 0);
+			buffer.putLong(CombatRecordFormat.HEADER_INSTANCE_MOST, instanceUuid.getMostSignificantBits());
+			buffer.putLong(CombatRecordFormat.HEADER_INSTANCE_LEAST, instanceUuid.getLeastSignificantBits());
+			return buffer;
+		}
+
+		private synchronized void write(long tick, LivingEntity victim, Damage damage,
+		                                double knockbackX, double knockbackY, double knockbackZ) {
+			if (buffer == null) return; // Closed
+			if (count == segmentRecords) {
+				buffer.force();
+				buffer = map(++segment);
+				count = 0;
+			}
+
+			Entity attacker = damage.getAttacker();
+			Entity source = damage.getSource();
+			Pos victimPosition = victim.getPosition();
+
+			int offset = CombatRecordFormat.HEADER_SIZE + count * CombatRecordFormat.RECORD_SIZE;
+			buffer.putLong(offset + CombatRecordFormat.TICK, tick);
+			buffer.putInt(offset + CombatRecordFormat.ATTACKER, attacker == null ? -1 : attacker.getEntityId());
+			buffer.putInt(offset + CombatRecordFormat.VICTIM, victim.getEntityId());
+			buffer.putInt(offset + CombatRecordFormat.DAMAGE_TYPE,
+					MinecraftServer.getDamageTypeRegistry().getId(damage.getType()));
+			buffer.putFloat(offset + CombatRecordFormat.AMOUNT, damage.getAmount());
+			buffer.putFloat(offset + CombatRecordFormat.KNOCKBACK_X, (float) knockbackX);
+			buffer.putFloat(offset + CombatRecordFormat.KNOCKBACK_Y, (float) knockbackY);
+			buffer.putFloat(offset + CombatRecordFormat.KNOCKBACK_Z, (float) knockbackZ);
+			buffer.putInt(offset + CombatRecordFormat.SOURCE, source == null ? -1 : source.getEntityId());
+			buffer.putDouble(offset + CombatRecordFormat.VICTIM_X, victimPosition.x());
+			buffer.putDouble(offset + CombatRecordFormat.VICTIM_Y, victimPosition.y());
+			buffer.putDouble(offset + CombatRecordFormat.VICTIM_Z, victimPosition.z());
+			if (attacker != null) {
+				Pos attackerPosition = attacker.getPosition();
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_X, attackerPosition.x());
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_Y, attackerPosition.y());
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_Z, attackerPosition.z());
+			} else {
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_X, Double.NaN);
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_Y, Double.NaN);
+				buffer.putDouble(offset + CombatRecordFormat.ATTACKER_Z, Double.NaN);
+			}
+
+			// Publish the record only once it has been fully written
+			buffer.putInt(CombatRecordFormat.HEADER_RECORD_COUNT, ++count);
+		}
+
+		private synchronized void close() {
+			if (buffer == null) return;
+			buffer.force();
+			buffer = null;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package io.github.togar2.pvp.feature.recording;
+
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The knockback of a hit which has not been recorded yet, kept once per victim and reused for every hit.
+ * <p>
+ * A feature which applies more knockback after dealing a damage, like the attack feature, marks the damage as pending
+ * before dealing it. The damage feature then does not record the hit, but stores the knockback it applied here,
+ * so the other feature can record the hit once all knockback has been applied.
+ * <p>
+ * Only used while a {@link RecorderFeature} other than {@link RecorderFeature#NO_OP} is active,
+ * and only from the tick thread of the instance the victim is in.
+ */
+public final class PendingKnockback {
+	private static final Tag<PendingKnockback> PENDING = Tag.Transient("pendingRecordKnockback");
+	private static final Object CREATION_LOCK = new Object();
+
+	private Damage damage;
+	private double x, y, z;
+
+	private PendingKnockback() {}
+
+	/**
+	 * Gets the pending knockback of a victim, creating it if it does not exist yet.
+	 *
+	 * @param victim the victim
+	 * @return the pending knockback of the victim
+	 */
+	public static PendingKnockback get(LivingEntity victim) {
+		PendingKnockback pending = victim.getTag(PENDING);
+		if (pending != null) return pending;
+
+		synchronized (CREATION_LOCK) {
+			pending = victim.getTag(PENDING);
+			if (pending == null) {
+				pending = new PendingKnockback();
+				victim.setTag(PENDING, pending);
+			}
+			return pending;
+		}
+	}
+
+	/**
+	 * Gets the pending knockback of a victim without creating it.
+	 *
+	 * @param victim the victim
+	 * @return the pending knockback of the victim, or null if nothing was ever pending for it
+	 */
+	public static @Nullable PendingKnockback getIfPresent(LivingEntity victim) {
+		return victim.getTag(PENDING);
+	}
+
+	/**
+	 * Marks the given damage as pending, without any knockback yet.
+	 *
+	 * @param damage the damage which is about to be dealt
+	 */
+	public void begin(Damage damage) {
+		this.damage = damage;
+		this.x = 0;
+		this.y = 0;
+		this.z = 0;
+	}
+
+	/**
+	 * @param damage the damage
+	 * @return whether the hit of the given damage is still waiting to be recorded
+	 */
+	public boolean isPendingFor(Damage damage) {
+		return this.damage == damage;
+	}
+
+	/**
+	 * Sets the knockback the damage feature applied for the pending damage.
+	 */
+	public void set(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/**
+	 * Stops waiting for the pending damage, so it is not kept referenced.
+	 */
+	public void clear() {
+		this.damage = null;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getZ() {
+		return z;
+	}
+}
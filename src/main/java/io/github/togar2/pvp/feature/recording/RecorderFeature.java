@@ -0,0 +1,25 @@
+package io.github.togar2.pvp.feature.recording;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.damage.Damage;
+
+/**
+ * Combat feature which records every hit that has been dealt, so it can be analysed after a match.
+ */
+public interface RecorderFeature extends CombatFeature {
+	RecorderFeature NO_OP = (victim, damage, knockbackX, knockbackY, knockbackZ) -> {};
+
+	/**
+	 * Records a hit which has been applied to an entity.
+	 * This is called from the tick thread of the instance the victim is in.
+	 * Hits whose knockback is completed by another feature are collected in {@link PendingKnockback} first.
+	 *
+	 * @param victim the entity which was damaged
+	 * @param damage the damage with its final amount
+	 * @param knockbackX the change in velocity of the victim caused by knockback on the x axis
+	 * @param knockbackY the change in velocity of the victim caused by knockback on the y axis
+	 * @param knockbackZ the change in velocity of the victim caused by knockback on the z axis
+	 */
+	void recordDamage(LivingEntity victim, Damage damage, double knockbackX, double knockbackY, double knockbackZ);
+}
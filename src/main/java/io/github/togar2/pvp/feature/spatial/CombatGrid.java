@@ -0,0 +1,248 @@
+package io.github.togar2.pvp.feature.spatial;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of vertical columns holding the living entities of one instance.
+ * <p>
+ * Every entity is stored in the column containing its position, so it is found exactly once per query.
+ * Queries search the columns around the queried area, widened by the largest hitbox in the grid
+ * and by how far an entity can have moved since its column was last updated.
+ * That distance is the largest step any entity in the grid made during the current or the previous tick,
+ * so fast entities like gliding, riptiding or knocked back players widen the search while they are moving.
+ * <p>
+ * Entities which were teleported or spawned are not in a column until their next update,
+ * since their position can change by any distance. Every query checks them separately.
+ * <p>
+ * Every cell size has its own grid, see {@link #tag(int)}.
+ */
+final class CombatGrid {
+	private static final Object CREATION_LOCK = new Object();
+
+	// Entities are moved to their new column once per tick, they can be this far outside of it by moving normally
+	private static final double MIN_MOVEMENT_MARGIN = 2;
+
+	private final Instance instance;
+	private final int cellSize;
+
+	private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+	private final Int2LongOpenHashMap cellByEntity = new Int2LongOpenHashMap();
+	private double maxHalfWidth;
+
+	// Largest horizontal distance an entity moved in one tick, for the current and the previous world tick
+	private long stepTick = Long.MIN_VALUE;
+	private double maxStep;
+	private double previousMaxStep;
+
+	// Teleported and spawned entities, which are not in any cell
+	private LivingEntity[] unsettled = new LivingEntity[4];
+	private int unsettledCount;
+
+	private CombatGrid(Instance instance, int cellSize) {
+		this.instance = instance;
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Gets the tag the grid with the given cell size is stored in, so grids with different cell sizes do not mix.
+	 */
+	static Tag<CombatGrid> tag(int cellSize) {
+		return Tag.Transient("combatGrid" + cellSize);
+	}
+
+	static CombatGrid get(Instance instance, Tag<CombatGrid> tag, int cellSize) {
+		CombatGrid grid = instance.getTag(tag);
+		if (grid != null) return grid;
+
+		synchronized (CREATION_LOCK) {
+			grid = instance.getTag(tag);
+			if (grid == null) {
+				grid = new CombatGrid(instance, cellSize);
+				instance.setTag(tag, grid);
+			}
+			return grid;
+		}
+	}
+
+	private static long key(int cellX, int cellZ) {
+		return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+
+	private int cell(double coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	synchronized void update(LivingEntity entity) {
+		Point position = entity.getPosition();
+		long key = key(cell(position.x()), cell(position.z()));
+		int id = entity.getEntityId();
+
+		maxHalfWidth = Math.max(maxHalfWidth, entity.getBoundingBox().width() / 2);
+		// A teleport is not a step, and the entity was found by every query while it was unsettled
+		if (!(unsettledCount > 0 && removeUnsettled(entity))) recordStep(entity, position);
+
+		if (cellByEntity.containsKey(id)) {
+			long previous = cellByEntity.get(id);
+			if (previous == key) return;
+			removeFromCell(previous, entity);
+		}
+
+		cellByEntity.put(id, key);
+		Cell cell = cells.get(key);
+		if (cell == null) {
+			cell = new Cell();
+			cells.put(key, cell);
+		}
+		cell.add(entity);
+	}
+
+	/**
+	 * Takes an entity out of its cell until its next update, because its position changed by an unknown distance.
+	 */
+	synchronized void unsettle(LivingEntity entity) {
+		int id = entity.getEntityId();
+		if (cellByEntity.containsKey(id)) removeFromCell(cellByEntity.remove(id), entity);
+
+		for (int i = 0; i < unsettledCount; i++) {
+			if (unsettled[i] == entity) return;
+		}
+		if (unsettledCount == unsettled.length) unsettled = Arrays.copyOf(unsettled, unsettledCount * 2);
+		unsettled[unsettledCount++] = entity;
+	}
+
+	synchronized void remove(LivingEntity entity) {
+		if (unsettledCount > 0) removeUnsettled(entity);
+
+		int id = entity.getEntityId();
+		if (!cellByEntity.containsKey(id)) return;
+		removeFromCell(cellByEntity.remove(id), entity);
+	}
+
+	private boolean removeUnsettled(LivingEntity entity) {
+		for (int i = 0; i < unsettledCount; i++) {
+			if (unsettled[i] != entity) continue;
+
+			unsettled[i] = unsettled[--unsettledCount];
+			unsettled[unsettledCount] = null;
+			return true;
+		}
+		return false;
+	}
+
+	private void recordStep(LivingEntity entity, Point position) {
+		long tick = instance.getWorldAge();
+		if (tick != stepTick) {
+			previousMaxStep = tick == stepTick + 1 ? maxStep : 0;
+			maxStep = 0;
+			stepTick = tick;
+		}
+
+		Point previous = entity.getPreviousPosition();
+		double dx = position.x() - previous.x(), dz = position.z() - previous.z();
+		double step = Math.sqrt(dx * dx + dz * dz);
+		if (step > maxStep) maxStep = step;
+	}
+
+	private double movementMargin() {
+		return Math.max(MIN_MOVEMENT_MARGIN, Math.max(maxStep, previousMaxStep));
+	}
+
+	private void removeFromCell(long key, LivingEntity entity) {
+		Cell cell = cells.get(key);
+		if (cell == null) return;
+		cell.remove(entity);
+		if (cell.size == 0) cells.remove(key);
+	}
+
+	synchronized void queryBox(double minX, double minY, double minZ,
+	                           double maxX, double maxY, double maxZ, CombatantBuffer result) {
+		double margin = maxHalfWidth + movementMargin();
+		int minCellX = cell(minX - margin), maxCellX = cell(maxX + margin);
+		int minCellZ = cell(minZ - margin), maxCellZ = cell(maxZ + margin);
+
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+				Cell cell = cells.get(key(cellX, cellZ));
+				if (cell == null) continue;
+
+				for (int i = 0; i < cell.size; i++) {
+					LivingEntity entity = cell.entities[i];
+					if (!isPresent(entity)) continue;
+					if (SpatialIndexFeature.intersects(entity, minX, minY, minZ, maxX, maxY, maxZ)) result.add(entity);
+				}
+			}
+		}
+
+		for (int i = 0; i < unsettledCount; i++) {
+			LivingEntity entity = unsettled[i];
+			if (!isPresent(entity)) continue;
+			if (SpatialIndexFeature.intersects(entity, minX, minY, minZ, maxX, maxY, maxZ)) result.add(entity);
+		}
+	}
+
+	synchronized void querySphere(double x, double y, double z, double radius, CombatantBuffer result) {
+		double margin = radius + movementMargin();
+		int minCellX = cell(x - margin), maxCellX = cell(x + margin);
+		int minCellZ = cell(z - margin), maxCellZ = cell(z + margin);
+		double radiusSquared = radius * radius;
+
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+				Cell cell = cells.get(key(cellX, cellZ));
+				if (cell == null) continue;
+
+				for (int i = 0; i < cell.size; i++) {
+					LivingEntity entity = cell.entities[i];
+					if (!isPresent(entity)) continue;
+
+					if (isInSphere(entity, x, y, z, radiusSquared)) result.add(entity);
+				}
+			}
+		}
+
+		for (int i = 0; i < unsettledCount; i++) {
+			LivingEntity entity = unsettled[i];
+			if (!isPresent(entity)) continue;
+			if (isInSphere(entity, x, y, z, radiusSquared)) result.add(entity);
+		}
+	}
+
+	private static boolean isInSphere(LivingEntity entity, double x, double y, double z, double radiusSquared) {
+		Point position = entity.getPosition();
+		double dx = position.x() - x, dy = position.y() - y, dz = position.z() - z;
+		return dx * dx + dy * dy + dz * dz <= radiusSquared;
+	}
+
+	private boolean isPresent(LivingEntity entity) {
+		// Removal is handled by an event, but an entity can be queried between leaving and the event
+		return !entity.isRemoved() && entity.getInstance() == instance;
+	}
+
+	private static final class Cell {
+		private LivingEntity[] entities = new LivingEntity[4];
+		private int size;
+
+		void add(LivingEntity entity) {
+			if (size == entities.length) entities = Arrays.copyOf(entities, size * 2);
+			entities[size++] = entity;
+		}
+
+		void remove(LivingEntity entity) {
+			for (int i = 0; i < size; i++) {
+				if (entities[i] != entity) continue;
+
+				// Order within a cell does not matter, so the last entity fills the gap
+				entities[i] = entities[--size];
+				entities[size] = null;
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package io.github.togar2.pvp.feature.spatial;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A reusable list of living entities, filled by the queries of a {@link SpatialIndexFeature}.
+ * <p>
+ * Buffers are pooled per thread. A buffer taken with {@link #acquire()} must be given back
+ * with {@link #release()} once the caller is done with it, and must not be used afterwards.
+ * Queries which run while another query result is being processed get their own buffer.
+ */
+public final class CombatantBuffer implements Consumer<Entity> {
+	private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+	private LivingEntity[] entities = new LivingEntity[16];
+	private int size;
+
+	private CombatantBuffer() {}
+
+	/**
+	 * Takes an empty buffer from the pool of the current thread.
+	 *
+	 * @return the buffer
+	 */
+	public static CombatantBuffer acquire() {
+		return POOL.get().take();
+	}
+
+	/**
+	 * Clears this buffer and returns it to the pool of the current thread.
+	 */
+	public void release() {
+		clear();
+		POOL.get().giveBack();
+	}
+
+	/**
+	 * Adds an entity to the buffer if it is a living entity.
+	 *
+	 * @param entity the entity
+	 */
+	@Override
+	public void accept(Entity entity) {
+		if (entity instanceof LivingEntity living) add(living);
+	}
+
+	public void add(LivingEntity entity) {
+		if (size == entities.length) entities = Arrays.copyOf(entities, size * 2);
+		entities[size++] = entity;
+	}
+
+	public LivingEntity get(int index) {
+		return entities[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(entities, 0, size, null);
+		size = 0;
+	}
+
+	private static final class Pool {
+		private CombatantBuffer[] buffers = new CombatantBuffer[2];
+		private int depth;
+
+		CombatantBuffer take() {
+			if (depth == buffers.length) buffers = Arrays.copyOf(buffers, depth * 2);
+
+			CombatantBuffer buffer = buffers[depth];
+			if (buffer == null) {
+				buffer = new CombatantBuffer();
+				buffers[depth] = buffer;
+			}
+
+			depth++;
+			return buffer;
+		}
+
+		void giveBack() {
+			depth--;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package io.github.togar2.pvp.feature.spatial;
+
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.RegistrableFeature;
+import io.github.togar2.pvp.feature.config.DefinedFeature;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntitySpawnEvent;
+import net.minestom.server.event.entity.EntityTeleportEvent;
+import net.minestom.server.event.entity.EntityTickEvent;
+import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+/**
+ * Implementation of {@link SpatialIndexFeature} which keeps a grid of the living entities in every instance.
+ * <p>
+ * The grid is updated incrementally: every tick, an entity is only moved if it entered a different cell.
+ * Entities which are teleported or spawned are found by queries right away, before their next tick.
+ * Other code which moves entities by a large distance without teleporting them
+ * can use {@link #refresh(LivingEntity)} to do the same.
+ * Queries only look at the cells around the queried area and do not allocate.
+ * Because the grid only holds living entities, queries do not have to skip items, projectiles and other entities.
+ */
+public class GridSpatialIndexFeature implements SpatialIndexFeature, RegistrableFeature {
+	public static final int DEFAULT_CELL_SIZE = 4;
+
+	public static final DefinedFeature<GridSpatialIndexFeature> DEFINED = defined(DEFAULT_CELL_SIZE);
+
+	private final int cellSize;
+	private final Tag<CombatGrid> gridTag;
+
+	public GridSpatialIndexFeature(int cellSize) {
+		if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive");
+		this.cellSize = cellSize;
+		this.gridTag = CombatGrid.tag(cellSize);
+	}
+
+	/**
+	 * Creates a defined grid spatial index feature.
+	 *
+	 * @param cellSize the width of a grid cell in blocks
+	 * @return the defined feature
+	 */
+	public static DefinedFeature<GridSpatialIndexFeature> defined(int cellSize) {
+		return new DefinedFeature<>(
+				FeatureType.SPATIAL_INDEX, configuration -> new GridSpatialIndexFeature(cellSize)
+		);
+	}
+
+	@Override
+	public int getPriority() {
+		// The grid should be up to date before other features query it
+		return -1;
+	}
+
+	@Override
+	public void init(EventNode<EntityInstanceEvent> node) {
+		node.addListener(EntityTickEvent.class, event -> {
+			if (!(event.getEntity() instanceof LivingEntity entity)) return;
+			Instance instance = entity.getInstance();
+			if (instance == null) return;
+
+			grid(instance).update(entity);
+		});
+
+		node.addListener(EntitySpawnEvent.class, event -> {
+			if (!(event.getEntity() instanceof LivingEntity entity)) return;
+			grid(event.getSpawnInstance()).unsettle(entity);
+		});
+		node.addListener(EntityTeleportEvent.class, event -> {
+			if (event.getEntity() instanceof LivingEntity entity) refresh(entity);
+		});
+
+		node.addListener(RemoveEntityFromInstanceEvent.class, event -> {
+			if (!(event.getEntity() instanceof LivingEntity entity)) return;
+			grid(event.getInstance()).remove(entity);
+		});
+	}
+
+	/**
+	 * Makes queries find an entity at its current position right away, instead of after its next tick.
+	 * This is needed after the position of an entity changed by more than a few blocks outside of its own tick.
+	 *
+	 * @param entity the entity which moved
+	 */
+	public void refresh(LivingEntity entity) {
+		Instance instance = entity.getInstance();
+		if (instance != null) grid(instance).unsettle(entity);
+	}
+
+	private CombatGrid grid(Instance instance) {
+		return CombatGrid.get(instance, gridTag, cellSize);
+	}
+
+	@Override
+	public void queryBox(Instance instance, double minX, double minY, double minZ,
+	                     double maxX, double maxY, double maxZ, CombatantBuffer result) {
+		grid(instance).queryBox(minX, minY, minZ, maxX, maxY, maxZ, result);
+	}
+
+	@Override
+	public void querySphere(Instance instance, Point center, double radius, CombatantBuffer result) {
+		grid(instance).querySphere(center.x(), center.y(), center.z(), radius, result);
+	}
+}
@@ -0,0 +1,82 @@
+package io.github.togar2.pvp.feature.spatial;
+
+import io.github.togar2.pvp.feature.CombatFeature;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
+
+/**
+ * Combat feature which finds the living entities in an area, used by all area attacks and effects.
+ * <p>
+ * The default implementation asks the entity tracker of the instance.
+ */
+public interface SpatialIndexFeature extends CombatFeature {
+	SpatialIndexFeature NO_OP = new SpatialIndexFeature() {
+		// Entities are stored in the chunk of their position, so the searched chunks are widened to find larger hitboxes touching a box
+		private static final double HITBOX_MARGIN = 2;
+
+		@Override
+		public void queryBox(Instance instance, double minX, double minY, double minZ,
+		                     double maxX, double maxY, double maxZ, CombatantBuffer result) {
+			int minChunkX = (int) Math.floor(minX - HITBOX_MARGIN) >> 4;
+			int maxChunkX = (int) Math.floor(maxX + HITBOX_MARGIN) >> 4;
+			int minChunkZ = (int) Math.floor(minZ - HITBOX_MARGIN) >> 4;
+			int maxChunkZ = (int) Math.floor(maxZ + HITBOX_MARGIN) >> 4;
+
+			EntityTracker tracker = instance.getEntityTracker();
+			CombatantBuffer candidates = CombatantBuffer.acquire();
+			try {
+				// Reading whole chunks does not need a center point, so no vector is created per query
+				for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+					for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+						tracker.chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES).forEach(candidates);
+					}
+				}
+				for (int i = 0; i < candidates.size(); i++) {
+					LivingEntity entity = candidates.get(i);
+					if (SpatialIndexFeature.intersects(entity, minX, minY, minZ, maxX, maxY, maxZ)) result.add(entity);
+				}
+			} finally {
+				candidates.release();
+			}
+		}
+
+		@Override
+		public void querySphere(Instance instance, Point center, double radius, CombatantBuffer result) {
+			instance.getEntityTracker().nearbyEntities(center, radius, EntityTracker.Target.ENTITIES, result);
+		}
+	};
+
+	/**
+	 * Finds the living entities whose bounding box intersects a box.
+	 *
+	 * @param instance the instance to search in
+	 * @param result the buffer to add the entities to
+	 */
+	void queryBox(Instance instance, double minX, double minY, double minZ,
+	              double maxX, double maxY, double maxZ, CombatantBuffer result);
+
+	/**
+	 * Finds the living entities whose position is within a distance of a point.
+	 *
+	 * @param instance the instance to search in
+	 * @param center the point
+	 * @param radius the distance
+	 * @param result the buffer to add the entities to
+	 */
+	void querySphere(Instance instance, Point center, double radius, CombatantBuffer result);
+
+	/**
+	 * Checks whether the bounding box of an entity, at its current position, intersects a box.
+	 */
+	static boolean intersects(LivingEntity entity, double minX, double minY, double minZ,
+	                          double maxX, double maxY, double maxZ) {
+		Point position = entity.getPosition();
+		double halfWidth = entity.getBoundingBox().width() / 2;
+		double height = entity.getBoundingBox().height();
+		return position.x() + halfWidth > minX && position.x() - halfWidth < maxX
+				&& position.y() + height > minY && position.y() < maxY
+				&& position.z() + halfWidth > minZ && position.z() - halfWidth < maxZ;
+	}
+}
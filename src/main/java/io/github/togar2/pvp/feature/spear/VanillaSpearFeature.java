@@ -6,6 +6,8 @@ import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
+import io.github.togar2.pvp.feature.spatial.CombatantBuffer;
+import io.github.togar2.pvp.feature.spatial.SpatialIndexFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.utils.ViewUtil;
 import net.kyori.adventure.key.Key;
@@ -24,7 +26,6 @@ import net.minestom.server.event.item.PlayerCancelItemUseEvent;
 import net.minestom.server.event.item.PlayerFinishItemUseEvent;
 import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
-import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.item.ItemAnimation;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
@@ -48,7 +49,7 @@ public class VanillaSpearFeature implements SpearFeature, RegistrableFeature {
 	public static final DefinedFeature<VanillaSpearFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.SPEAR, VanillaSpearFeature::new,
 			VanillaSpearFeature::playerInit,
-			FeatureType.ITEM_DAMAGE, FeatureType.KNOCKBACK
+			FeatureType.ITEM_DAMAGE, FeatureType.KNOCKBACK, FeatureType.SPATIAL_INDEX
 	);
 
 	/**
@@ -75,10 +76,21 @@ public class VanillaSpearFeature implements SpearFeature, RegistrableFeature {
 			Key.key("minecraft:netherite_spear")
 	);
 
+	// Indexed by material id
+	private static final boolean[] SPEARS = new boolean[Material.values().stream().mapToInt(Material::id).max().orElse(-1) + 1];
+
+	static {
+		for (Key key : SPEAR_MATERIAL_KEYS) {
+			Material material = Material.fromKey(key);
+			if (material != null) SPEARS[material.id()] = true;
+		}
+	}
+
 	private final FeatureConfiguration configuration;
 
 	private ItemDamageFeature itemDamageFeature;
 	private KnockbackFeature knockbackFeature;
+	private SpatialIndexFeature spatialIndexFeature;
 
 	public VanillaSpearFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -88,6 +100,7 @@ public class VanillaSpearFeature implements SpearFeature, RegistrableFeature {
 	public void initDependencies() {
 		this.itemDamageFeature = configuration.get(FeatureType.ITEM_DAMAGE);
 		this.knockbackFeature = configuration.get(FeatureType.KNOCKBACK);
+		this.spatialIndexFeature = configuration.get(FeatureType.SPATIAL_INDEX);
 	}
 
 	private static void playerInit(Player player, boolean firstInit) {
@@ -186,67 +199,67 @@ public class VanillaSpearFeature implements SpearFeature, RegistrableFeature {
 		// Find entities in range and attack them
 		boolean anyAffected = false;
 		if (player.getInstance() != null) {
-			List<Entity> nearbyEntities = new ArrayList<>();
-			player.getInstance().getEntityTracker().nearbyEntities(
-					player.getPosition(), attackRange + 1,
-					EntityTracker.Target.ENTITIES,
-					nearbyEntities::add
-			);
-
-			for (Entity entity : nearbyEntities) {
-				if (entity == player) continue;
-				if (!(entity instanceof LivingEntity living)) continue;
-				if (entity.isRemoved() || living.isDead()) continue;
-
-				// Check if entity is within attack range
-				if (!isEntityInRange(player, entity, attackRange)) continue;
-
-				// Check contact cooldown
-				int contactCooldown = kineticWeapon.contactCooldownTicks();
-				if (wasRecentlyStabbed(player, entity.getEntityId())) continue;
-
-				// Remember this entity as stabbed
-				rememberStabbedEntity(player, entity.getEntityId());
-
-				// Calculate target's speed projected onto attacker's look direction
-				Vec targetMotion = getMotion(entity);
-				double targetSpeedProjection = lookDirection.dot(targetMotion);
-
-				// Calculate relative speed (attacker - target, clamped to >= 0)
-				double relativeSpeed = Math.max(0.0, attackerSpeedProjection - targetSpeedProjection);
-
-				// Check conditions
-				KineticWeapon.Condition dismountCondition = kineticWeapon.dismountConditions();
-				KineticWeapon.Condition knockbackCondition = kineticWeapon.knockbackConditions();
-				KineticWeapon.Condition damageCondition = kineticWeapon.damageConditions();
-
-				boolean dealsDismount = dismountCondition != null &&
-						testCondition(dismountCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
-				boolean dealsKnockback = knockbackCondition != null &&
-						testCondition(knockbackCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
-				boolean dealsDamage = damageCondition != null &&
-						testCondition(damageCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
-
-				if (!dealsDismount && !dealsKnockback && !dealsDamage) continue;
-
-				// Calculate damage: base_damage + floor(relative_speed * damage_multiplier)
-				float damageMultiplier = kineticWeapon.damageMultiplier();
-				float damageDealt = (float) baseDamage + (float) Math.floor(relativeSpeed * damageMultiplier);
-
-				// Perform the stab attack
-				boolean affected = performStabAttack(player, living, damageDealt, dealsDamage, dealsKnockback, dealsDismount);
-				if (affected) {
-					anyAffected = true;
-
-					// Play hit sound
-					SoundEvent hitSound = kineticWeapon.hitSound();
-					if (hitSound != null) {
-						ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
-								hitSound, Sound.Source.PLAYER,
-								1.0f, 1.0f
-						), player);
+			CombatantBuffer nearbyEntities = CombatantBuffer.acquire();
+			try {
+				spatialIndexFeature.querySphere(player.getInstance(), player.getPosition(), attackRange + 1, nearbyEntities);
+
+				for (int i = 0; i < nearbyEntities.size(); i++) {
+					LivingEntity living = nearbyEntities.get(i);
+					if (living == player) continue;
+					if (living.isRemoved() || living.isDead()) continue;
+
+					// Check if entity is within attack range
+					if (!isEntityInRange(player, living, attackRange)) continue;
+
+					// Check contact cooldown
+					int contactCooldown = kineticWeapon.contactCooldownTicks();
+					if (wasRecentlyStabbed(player, living.getEntityId())) continue;
+
+					// Remember this entity as stabbed
+					rememberStabbedEntity(player, living.getEntityId());
+
+					// Calculate target's speed projected onto attacker's look direction
+					Vec targetMotion = getMotion(living);
+					double targetSpeedProjection = lookDirection.dot(targetMotion);
+
+					// Calculate relative speed (attacker - target, clamped to >= 0)
+					double relativeSpeed = Math.max(0.0, attackerSpeedProjection - targetSpeedProjection);
+
+					// Check conditions
+					KineticWeapon.Condition dismountCondition = kineticWeapon.dismountConditions();
+					KineticWeapon.Condition knockbackCondition = kineticWeapon.knockbackConditions();
+					KineticWeapon.Condition damageCondition = kineticWeapon.damageConditions();
+
+					boolean dealsDismount = dismountCondition != null &&
+							testCondition(dismountCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
+					boolean dealsKnockback = knockbackCondition != null &&
+							testCondition(knockbackCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
+					boolean dealsDamage = damageCondition != null &&
+							testCondition(damageCondition, ticksAfterDelay, attackerSpeedProjection, relativeSpeed, actionFactor);
+
+					if (!dealsDismount && !dealsKnockback && !dealsDamage) continue;
+
+					// Calculate damage: base_damage + floor(relative_speed * damage_multiplier)
+					float damageMultiplier = kineticWeapon.damageMultiplier();
+					float damageDealt = (float) baseDamage + (float) Math.floor(relativeSpeed * damageMultiplier);
+
+					// Perform the stab attack
+					boolean affected = performStabAttack(player, living, damageDealt, dealsDamage, dealsKnockback, dealsDismount);
+					if (affected) {
+						anyAffected = true;
+
+						// Play hit sound
+						SoundEvent hitSound = kineticWeapon.hitSound();
+						if (hitSound != null) {
+							ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
+									hitSound, Sound.Source.PLAYER,
+									1.0f, 1.0f
+							), player);
+						}
 					}
 				}
+			} finally {
+				nearbyEntities.release();
 			}
 		}
 
@@ -429,6 +442,17 @@ public class VanillaSpearFeature implements SpearFeature, RegistrableFeature {
 	 * @return true if it's a spear material
 	 */
 	public static boolean isSpear(Material material) {
-		return SPEAR_MATERIALS.contains(material);
+		int id = material.id();
+		return id < SPEARS.length && SPEARS[id];
+	}
+
+	/**
+	 * Checks if the given item is a spear.
+	 *
+	 * @param stack the item to check
+	 * @return true if it's a spear
+	 */
+	public static boolean isSpear(ItemStack stack) {
+		return isSpear(stack.material());
 	}
 }
@@ -4,6 +4,8 @@ import io.github.togar2.pvp.damage.DamageTypeInfo;
 import io.github.togar2.pvp.events.TotemUseEvent;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
+import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import io.github.togar2.pvp.feature.cosmetic.CosmeticsFeature;
 import io.github.togar2.pvp.feature.food.VanillaFoodFeature;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.component.DataComponents;
@@ -14,6 +16,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.component.ConsumeEffect;
 import net.minestom.server.item.component.DeathProtection;
+import net.minestom.server.network.packet.server.play.EntityStatusPacket;
 
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -23,9 +26,23 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class VanillaTotemFeature implements TotemFeature {
 	public static final DefinedFeature<VanillaTotemFeature> DEFINED = new DefinedFeature<>(
-			FeatureType.TOTEM, configuration -> new VanillaTotemFeature()
+			FeatureType.TOTEM, VanillaTotemFeature::new,
+			FeatureType.COSMETICS
 	);
 	
+	private final FeatureConfiguration configuration;
+	
+	private CosmeticsFeature cosmeticsFeature;
+	
+	public VanillaTotemFeature(FeatureConfiguration configuration) {
+		this.configuration = configuration;
+	}
+	
+	@Override
+	public void initDependencies() {
+		this.cosmeticsFeature = configuration.get(FeatureType.COSMETICS);
+	}
+	
 	@Override
 	public boolean tryProtect(LivingEntity entity, DamageType type) {
 		if (DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(type)).bypassesInvulnerability()) return false;
@@ -54,7 +71,7 @@ public class VanillaTotemFeature implements TotemFeature {
 			}
 			
 			// Totem particles
-			entity.triggerStatus((byte) 35);
+			cosmeticsFeature.sendPacket(entity, new EntityStatusPacket(entity.getEntityId(), (byte) 35));
 		}
 		
 		return deathProtection != null;
@@ -4,13 +4,14 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.fall.FallFeature;
+import io.github.togar2.pvp.feature.spatial.CombatantBuffer;
+import io.github.togar2.pvp.feature.spatial.SpatialIndexFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.*;
 import net.minestom.server.entity.attribute.Attribute;
-import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
 
 /**
  * Vanilla implementation of {@link MaceFeature}
@@ -26,7 +27,7 @@ import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
 public class VanillaMaceFeature implements MaceFeature {
 	public static final DefinedFeature<VanillaMaceFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.MACE, VanillaMaceFeature::new,
-			FeatureType.FALL
+			FeatureType.FALL, FeatureType.SPATIAL_INDEX
 	);
 
 	// Mace constants from vanilla
@@ -43,6 +44,7 @@ public class VanillaMaceFeature implements MaceFeature {
 	private final FeatureConfiguration configuration;
 
 	private FallFeature fallFeature;
+	private SpatialIndexFeature spatialIndexFeature;
 
 	public VanillaMaceFeature(FeatureConfiguration configuration) {
 		this.configuration = configuration;
@@ -51,6 +53,7 @@ public class VanillaMaceFeature implements MaceFeature {
 	@Override
 	public void initDependencies() {
 		this.fallFeature = configuration.get(FeatureType.FALL);
+		this.spatialIndexFeature = configuration.get(FeatureType.SPATIAL_INDEX);
 	}
 
 	@Override
@@ -126,28 +129,33 @@ public class VanillaMaceFeature implements MaceFeature {
 		double fallDistance = fallFeature.getFallDistance(attacker);
 		double radiusSquared = SMASH_ATTACK_KNOCKBACK_RADIUS * SMASH_ATTACK_KNOCKBACK_RADIUS;
 
-		for (Entity nearbyEntity : target.getInstance().getNearbyEntities(target.getPosition(), SMASH_ATTACK_KNOCKBACK_RADIUS + 1)) {
-			if (!(nearbyEntity instanceof LivingEntity nearby)) continue;
-			if (!isValidKnockbackTarget(attacker, target, nearby)) continue;
+		CombatantBuffer nearbyEntities = CombatantBuffer.acquire();
+		try {
+			spatialIndexFeature.querySphere(target.getInstance(), target.getPosition(),
+					SMASH_ATTACK_KNOCKBACK_RADIUS, nearbyEntities);
 
-			double distanceSq = target.getPosition().distanceSquared(nearby.getPosition());
-			if (distanceSq > radiusSquared) continue;
+			for (int i = 0; i < nearbyEntities.size(); i++) {
+				LivingEntity nearby = nearbyEntities.get(i);
+				if (!isValidKnockbackTarget(attacker, target, nearby)) continue;
 
-			Vec direction = nearby.getPosition().sub(target.getPosition()).asVec();
-			double knockbackPower = getKnockbackPower(attacker, nearby, direction, fallDistance);
+				double distanceSq = target.getPosition().distanceSquared(nearby.getPosition());
+				if (distanceSq > radiusSquared) continue;
 
-			if (knockbackPower > 0) {
-				Vec knockbackVector = direction.normalize().mul(knockbackPower);
-				nearby.setVelocity(nearby.getVelocity().add(knockbackVector.x(), SMASH_ATTACK_KNOCKBACK_POWER, knockbackVector.z()));
+				Vec direction = nearby.getPosition().sub(target.getPosition()).asVec();
+				double knockbackPower = getKnockbackPower(attacker, nearby, direction, fallDistance);
 
-				// Send velocity update to players
-				if (nearby instanceof Player otherPlayer) {
-					otherPlayer.sendPacket(new EntityVelocityPacket(otherPlayer.getEntityId(), nearby.getVelocity()));
-				}
-				if (nearby instanceof CombatPlayer combatPlayer) {
-					combatPlayer.sendImmediateVelocityUpdate();
+				if (knockbackPower > 0) {
+					Vec knockbackVector = direction.normalize().mul(knockbackPower);
+					nearby.setVelocity(nearby.getVelocity().add(knockbackVector.x(), SMASH_ATTACK_KNOCKBACK_POWER, knockbackVector.z()));
+
+					// A CombatCreature sends its velocity at the end of the tick, other entities already sent it in setVelocity
+					if (nearby instanceof CombatPlayer combatPlayer) {
+						combatPlayer.sendImmediateVelocityUpdate();
+					}
 				}
 			}
+		} finally {
+			nearbyEntities.release();
 		}
 	}
 
@@ -206,9 +214,6 @@ public class VanillaMaceFeature implements MaceFeature {
 		attacker.setVelocity(velocity.withY(Math.max(velocity.y(), 0.01 * 20))); // 0.01 blocks/tick * 20 ticks/sec
 
 		// Send velocity update to player
-		if (attacker instanceof Player player) {
-			player.sendPacket(new EntityVelocityPacket(player.getEntityId(), attacker.getVelocity()));
-		}
 		if (attacker instanceof CombatPlayer combatPlayer) {
 			combatPlayer.sendImmediateVelocityUpdate();
 		}
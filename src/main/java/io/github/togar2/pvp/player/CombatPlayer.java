@@ -21,6 +21,14 @@ public interface CombatPlayer {
     boolean isSprinting();
     Pos getPosition();
     
+    /**
+     * Gets the latency from keep alive packets, which {@link Player} already provides.
+     * @return the latency in milliseconds, or 0 if this is not a {@link Player}
+     */
+    default int getLatency() {
+        return this instanceof Player player ? player.getLatency() : 0;
+    }
+    
     /**
      * Does not guarantee anything, the implementation uses Minestom physics logic which does not take into account many edge cases.
      * It is also quite performance intensive, not suitable for calling often.
@@ -55,8 +63,54 @@ public interface CombatPlayer {
     
     void setVelocityNoUpdate(Function<Vec, Vec> function);
     
+    /**
+     * Sends the velocity of this player to itself and its viewers if it changed.
+     * Unless immediate updates are enabled, the update is sent once at the end of the tick,
+     * together with every other velocity change made during that tick.
+     */
     void sendImmediateVelocityUpdate();
     
+    /**
+     * Gets the estimator which collects the round trips of this player.
+     * Implementations which do not keep one use {@link LatencyEstimator#EMPTY},
+     * so the latency from keep alive packets is used instead.
+     * @return the latency estimator of this player
+     */
+    default LatencyEstimator getLatencyEstimator() {
+        return LatencyEstimator.EMPTY;
+    }
+    
+    /**
+     * Gets the smoothed round trip time of this player, which follows changes in latency
+     * much sooner than {@link #getLatency()} when {@link LatencyProbe} is running.
+     * @return the mean latency in milliseconds
+     */
+    default double getMeanLatency() {
+        LatencyEstimator estimator = getLatencyEstimator();
+        return estimator.hasSamples() ? estimator.getMean() : getLatency();
+    }
+    
+    /**
+     * @param percentile the percentile, from 0 to 1
+     * @return the latency in milliseconds at the given percentile of the recent round trips
+     */
+    default double getLatencyPercentile(double percentile) {
+        LatencyEstimator estimator = getLatencyEstimator();
+        return estimator.hasSamples() ? estimator.getPercentile(percentile) : getLatency();
+    }
+    
+    /**
+     * Gets the latency of a player to use for combat calculations,
+     * which is the mean latency for a {@link CombatPlayer} and the latency from keep alive packets otherwise.
+     * @param player the player
+     * @return the latency in milliseconds
+     */
+    static int getEstimatedLatency(Player player) {
+        return player instanceof CombatPlayer combatPlayer
+                ? (int) Math.round(combatPlayer.getMeanLatency())
+                : player.getLatency();
+    }
+    
     static void init(EventNode<Event> node) {
         node.addListener(PlayerMoveEvent.class, event -> {
             Player player = event.getPlayer();
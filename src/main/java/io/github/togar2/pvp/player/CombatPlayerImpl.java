@@ -1,5 +1,7 @@
 package io.github.togar2.pvp.player;
 
+import io.github.togar2.pvp.utils.EntityUtil;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.Aerodynamics;
 import net.minestom.server.collision.PhysicsResult;
@@ -11,6 +13,8 @@ import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.entity.EntityVelocityEvent;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
 import net.minestom.server.network.player.GameProfile;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.potion.PotionEffect;
@@ -21,8 +25,30 @@ import org.jetbrains.annotations.NotNull;
 import java.util.function.Function;
 
 public class CombatPlayerImpl extends Player implements CombatPlayer {
-	private boolean velocityUpdate = false;
+	private static final int DORMANCY_TICKS = 20;
+	// Velocity is divided and multiplied by the tps every tick, so a resting velocity can differ in the last bits
+	private static final double DORMANCY_EPSILON = 1e-9;
+	private static volatile boolean verifyDormancy = false;
+	
+	private volatile boolean velocityUpdate = false;
+	// The velocity as it was set, the movement of this player must not change what is sent
+	private volatile Vec pendingVelocity = Vec.ZERO;
 	private PhysicsResult previousPhysicsResult = null;
+	private final LatencyEstimator latencyEstimator = new LatencyEstimator();
+	
+	private int idleTicks = 0;
+	private boolean dormant = false;
+	private Pos lastPosition = null;
+	private Instance dormantInstance = null;
+	private Block dormantGround = null;
+	
+	private boolean immediateVelocityUpdates = false;
+	private volatile boolean velocityUpdatePending = false;
+	private final Runnable velocityUpdateFlush = this::flushVelocityUpdate;
+	
+	private boolean immediateHealthUpdates = false;
+	private volatile boolean healthUpdatePending = false;
+	private final Runnable healthUpdateFlush = this::flushHealthUpdate;
 	
 	public CombatPlayerImpl(@NotNull PlayerConnection playerConnection, GameProfile profile) {
 		super(playerConnection, profile);
@@ -38,23 +64,104 @@ public class CombatPlayerImpl extends Player implements CombatPlayer {
 		EntityVelocityEvent entityVelocityEvent = new EntityVelocityEvent(this, velocity);
 		EventDispatcher.callCancellable(entityVelocityEvent, () -> {
 			this.velocity = entityVelocityEvent.getVelocity();
+			pendingVelocity = this.velocity;
 			velocityUpdate = true;
+			wake();
+			scheduleVelocityUpdate();
 		});
 	}
 	
 	@Override
 	public void setVelocityNoUpdate(Function<Vec, Vec> function) {
 		velocity = function.apply(velocity);
+		wake();
 	}
 	
 	@Override
 	public void sendImmediateVelocityUpdate() {
-		if (velocityUpdate) {
-			velocityUpdate = false;
-			sendPacketToViewersAndSelf(getVelocityPacket());
+		if (!velocityUpdate) return;
+		
+		if (immediateVelocityUpdates) {
+			flushVelocityUpdate();
+		} else {
+			scheduleVelocityUpdate();
 		}
 	}
 	
+	@Override
+	public LatencyEstimator getLatencyEstimator() {
+		return latencyEstimator;
+	}
+	
+	/**
+	 * Sets whether {@link #sendImmediateVelocityUpdate()} sends the velocity right away.
+	 * By default, velocity changes made before this player moves are sent right before it moves,
+	 * and later changes are added up and sent in a single packet at the end of the tick.
+	 * The velocity is always sent as it was set, without the movement of this player applied to it.
+	 * Sending right away lets the knockback of a hit reach the player a little earlier,
+	 * at the cost of an extra packet when the velocity changes again later in the tick.
+	 *
+	 * @param immediateVelocityUpdates whether velocity updates should be sent immediately
+	 */
+	public void setImmediateVelocityUpdates(boolean immediateVelocityUpdates) {
+		this.immediateVelocityUpdates = immediateVelocityUpdates;
+		if (immediateVelocityUpdates) flushVelocityUpdate();
+	}
+	
+	public boolean hasImmediateVelocityUpdates() {
+		return immediateVelocityUpdates;
+	}
+	
+	private void scheduleVelocityUpdate() {
+		if (velocityUpdatePending) return;
+		velocityUpdatePending = true;
+		MinecraftServer.getSchedulerManager().scheduleEndOfTick(velocityUpdateFlush);
+	}
+	
+	private void flushVelocityUpdate() {
+		velocityUpdatePending = false;
+		if (!velocityUpdate) return;
+		velocityUpdate = false;
+		if (!isOnline()) return;
+		
+		sendPacketToViewersAndSelf(EntityUtil.getCappedVelocityPacket(this, pendingVelocity));
+	}
+	
+	/**
+	 * Sets whether health, food and saturation changes are sent to the player immediately.
+	 * By default, all changes made during a tick are sent in a single update at the end of the tick.
+	 *
+	 * @param immediateHealthUpdates whether every change should be sent immediately
+	 */
+	public void setImmediateHealthUpdates(boolean immediateHealthUpdates) {
+		this.immediateHealthUpdates = immediateHealthUpdates;
+		if (immediateHealthUpdates) flushHealthUpdate();
+	}
+	
+	public boolean hasImmediateHealthUpdates() {
+		return immediateHealthUpdates;
+	}
+	
+	@Override
+	protected void sendUpdateHealthPacket() {
+		// The death screen should not wait for the end of the tick
+		if (immediateHealthUpdates || getHealth() <= 0) {
+			healthUpdatePending = false;
+			super.sendUpdateHealthPacket();
+			return;
+		}
+		
+		if (healthUpdatePending) return;
+		healthUpdatePending = true;
+		MinecraftServer.getSchedulerManager().scheduleEndOfTick(healthUpdateFlush);
+	}
+	
+	private void flushHealthUpdate() {
+		if (!healthUpdatePending) return;
+		healthUpdatePending = false;
+		if (isOnline()) super.sendUpdateHealthPacket();
+	}
+	
 	public boolean isOnGroundAfterTicks(int ticks) {
 		if (vehicle != null) return false;
 		
@@ -91,12 +198,88 @@ public class CombatPlayerImpl extends Player implements CombatPlayer {
 		return false;
 	}
 	
+	/**
+	 * Sets whether dormant players still simulate their movement, to check that skipping it would not have changed anything.
+	 * A player whose movement did change is woken up, and the mismatch is reported to the exception manager.
+	 * This is meant for debugging only, as it removes the performance benefit of dormancy.
+	 *
+	 * @param verifyDormancy whether to verify dormant players
+	 */
+	public static void setDormancyVerification(boolean verifyDormancy) {
+		CombatPlayerImpl.verifyDormancy = verifyDormancy;
+	}
+	
+	/**
+	 * Gets whether the movement simulation of this player is currently skipped.
+	 * A player becomes dormant after resting for a second without any movement,
+	 * and wakes up when its velocity is set, it moves or is teleported, or the block under it changes.
+	 *
+	 * @return whether the player is dormant
+	 */
+	public boolean isDormant() {
+		return dormant;
+	}
+	
+	private void wake() {
+		dormant = false;
+		idleTicks = 0;
+		dormantGround = null;
+	}
+	
+	private boolean isDormancyBroken() {
+		if (instance != dormantInstance || !position.samePoint(lastPosition)) return true;
+		if (hasEffect(PotionEffect.LEVITATION)) return true;
+		return dormantGround != null && !instance.getBlock(groundPosition()).equals(dormantGround);
+	}
+	
+	private void updateDormancy(boolean resting, Vec previousVelocity, boolean levitating) {
+		boolean idle = resting && !levitating && !velocityUpdate
+				&& lastPosition != null && position.samePoint(lastPosition)
+				&& Math.abs(velocity.x() - previousVelocity.x()) < DORMANCY_EPSILON
+				&& Math.abs(velocity.y() - previousVelocity.y()) < DORMANCY_EPSILON
+				&& Math.abs(velocity.z() - previousVelocity.z()) < DORMANCY_EPSILON;
+		lastPosition = position;
+		
+		if (dormant) {
+			// Only reached when verifying
+			if (idle) return;
+			MinecraftServer.getExceptionManager().handleException(new IllegalStateException(
+					"Dormant player " + getUsername() + " would have changed velocity from " + previousVelocity + " to " + velocity));
+			wake();
+			return;
+		}
+		
+		idleTicks = idle ? idleTicks + 1 : 0;
+		if (idleTicks >= DORMANCY_TICKS) {
+			dormant = true;
+			dormantInstance = instance;
+			dormantGround = onGround ? instance.getBlock(groundPosition()) : null;
+		}
+	}
+	
+	private Pos groundPosition() {
+		return position.sub(0, 0.5, 0);
+	}
+	
 	@Override
 	protected void movementTick() {
+		// Knockback must reach the client before this player's own movement weakens it
+		flushVelocityUpdate();
+		
 		this.gravityTickCount = onGround ? 0 : gravityTickCount + 1;
 		if (vehicle != null) return;
 		
+		// Nothing changes for a player resting in place, so the simulation is skipped until something wakes it up
+		if (dormant) {
+			if (isDormancyBroken()) {
+				wake();
+			} else if (!verifyDormancy) {
+				return;
+			}
+		}
+		
 		final double tps = ServerFlag.SERVER_TICKS_PER_SECOND;
+		Vec previousVelocity = velocity;
 		
 		// Slow falling effect
 		Aerodynamics aerodynamics = getAerodynamics();
@@ -123,6 +306,10 @@ public class CombatPlayerImpl extends Player implements CombatPlayer {
 			);
 		}
 		
+		// Resting on the ground, or floating without any velocity, like a flying or spectating player
+		boolean resting = physicsResult.isOnGround() || velocity.isZero();
+		updateDormancy(resting, previousVelocity, levitation != null);
+		
 		//TODO
 		//if (!PlayerUtils.isSocketClient(this)) {
 		//	refreshPosition(physicsResult.newPosition(), true, true);
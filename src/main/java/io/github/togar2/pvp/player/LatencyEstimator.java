@@ -0,0 +1,152 @@
+package io.github.togar2.pvp.player;
+
+import java.util.Arrays;
+
+/**
+ * Latency estimate of a single player, built from keep alive round trips
+ * and from the ping probes sent by {@link LatencyProbe}.
+ * <p>
+ * The mean is an exponentially weighted moving average which follows changes in latency within a few samples,
+ * and the jitter is the same kind of average over the deviation of every sample from the mean.
+ * The most recent samples are also kept for percentiles.
+ * <p>
+ * Samples are recorded on the thread ticking the player, and percentiles should be read there as well,
+ * since they are sorted into a scratch array kept by the estimator.
+ * Reading the mean or jitter from another thread may observe a partially applied sample.
+ */
+public final class LatencyEstimator {
+	/**
+	 * An estimator without samples which ignores everything recorded to it,
+	 * for {@link CombatPlayer} implementations which do not keep their own.
+	 */
+	public static final LatencyEstimator EMPTY = new LatencyEstimator(false);
+
+	// Weights of a new sample, as used for round trip estimation in TCP
+	private static final double MEAN_WEIGHT = 1 / 8.0;
+	private static final double JITTER_WEIGHT = 1 / 4.0;
+
+	private static final int SAMPLE_HISTORY = 32;
+	private static final int MAX_OUTSTANDING_PROBES = 8;
+
+	private double mean;
+	private double jitter;
+	private long sampleCount;
+
+	private final double[] samples = new double[SAMPLE_HISTORY];
+	private int sampleHead;
+
+	// The samples in ascending order, only sorted again when a percentile is read after a new sample
+	private final double[] sortedSamples = new double[SAMPLE_HISTORY];
+	private boolean sorted;
+
+	// Probes which have been sent but not answered, indexed by the lowest bits of their id
+	private final int[] probeIds = new int[MAX_OUTSTANDING_PROBES];
+	private final long[] probeSendTimes = new long[MAX_OUTSTANDING_PROBES];
+	private int nextProbeId;
+
+	private final boolean mutable;
+
+	public LatencyEstimator() {
+		this(true);
+	}
+
+	private LatencyEstimator(boolean mutable) {
+		this.mutable = mutable;
+	}
+
+	/**
+	 * Records one round trip.
+	 *
+	 * @param latencyMillis the round trip time in milliseconds
+	 */
+	public void record(double latencyMillis) {
+		if (!mutable) return;
+
+		if (sampleCount == 0) {
+			mean = latencyMillis;
+			jitter = latencyMillis / 2;
+		} else {
+			jitter += JITTER_WEIGHT * (Math.abs(latencyMillis - mean) - jitter);
+			mean += MEAN_WEIGHT * (latencyMillis - mean);
+		}
+
+		samples[sampleHead] = latencyMillis;
+		sampleHead = (sampleHead + 1) % SAMPLE_HISTORY;
+		sampleCount++;
+		sorted = false;
+	}
+
+	/**
+	 * Registers a probe which is about to be sent.
+	 *
+	 * @param idBase the bits which mark the id as a probe of this library
+	 * @param sendTime the {@link System#nanoTime()} the probe is sent at
+	 * @return the id to send the probe with
+	 */
+	int startProbe(int idBase, long sendTime) {
+		if (!mutable) return idBase;
+
+		int sequence = nextProbeId++ & 0xFFFF;
+		int slot = sequence % MAX_OUTSTANDING_PROBES;
+		probeIds[slot] = idBase | sequence;
+		probeSendTimes[slot] = sendTime;
+		return probeIds[slot];
+	}
+
+	/**
+	 * Records the round trip of an answered probe.
+	 * Answers to probes which were never sent, or which are too old to be tracked, are ignored.
+	 *
+	 * @param id the id of the answered probe
+	 * @param receiveTime the {@link System#nanoTime()} the answer arrived at
+	 */
+	void completeProbe(int id, long receiveTime) {
+		if (!mutable) return;
+
+		int slot = (id & 0xFFFF) % MAX_OUTSTANDING_PROBES;
+		if (probeIds[slot] != id || probeSendTimes[slot] == 0) return;
+
+		record((receiveTime - probeSendTimes[slot]) / 1_000_000.0);
+		probeSendTimes[slot] = 0;
+	}
+
+	/**
+	 * @return whether any round trip has been recorded yet
+	 */
+	public boolean hasSamples() {
+		return sampleCount > 0;
+	}
+
+	/**
+	 * @return the smoothed round trip time in milliseconds, or 0 without samples
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * @return the smoothed deviation of the round trip time from the mean in milliseconds, or 0 without samples
+	 */
+	public double getJitter() {
+		return jitter;
+	}
+
+	/**
+	 * Gets a percentile of the most recent round trip times.
+	 *
+	 * @param percentile the percentile, from 0 to 1
+	 * @return the round trip time in milliseconds at the given percentile, or 0 without samples
+	 */
+	public double getPercentile(double percentile) {
+		int count = (int) Math.min(sampleCount, SAMPLE_HISTORY);
+		if (count == 0) return 0;
+
+		if (!sorted) {
+			System.arraycopy(samples, 0, sortedSamples, 0, count);
+			Arrays.sort(sortedSamples, 0, count);
+			sorted = true;
+		}
+		int index = (int) Math.ceil(Math.max(0, Math.min(1, percentile)) * count) - 1;
+		return sortedSamples[Math.max(0, index)];
+	}
+}
@@ -0,0 +1,65 @@
+package io.github.togar2.pvp.player;
+
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerPacketEvent;
+import net.minestom.server.event.player.PlayerTickEvent;
+import net.minestom.server.network.packet.client.common.ClientPongPacket;
+import net.minestom.server.network.packet.server.common.PingPacket;
+
+/**
+ * Sends a ping packet to every {@link CombatPlayer} on a fixed interval and records the round trip
+ * in its {@link LatencyEstimator}, so the estimate does not have to wait for the next keep alive.
+ * <p>
+ * Probes are sent and answered on the thread ticking the player,
+ * so like keep alive round trips, a sample includes the time until the answer is processed.
+ * Answers are read from {@link PlayerPacketEvent} on the same node, and only pongs with the id of a probe are used,
+ * so the server keeps handling all other pongs itself.
+ */
+public final class LatencyProbe {
+	public static final int DEFAULT_INTERVAL_TICKS = 20;
+
+	// Marks the ping ids sent by this class, the lower 16 bits are a sequence number
+	private static final int ID_BASE = 0x50560000;
+
+	private static volatile int intervalTicks = DEFAULT_INTERVAL_TICKS;
+
+	private LatencyProbe() {}
+
+	/**
+	 * Sets the amount of ticks between two probes sent to the same player.
+	 *
+	 * @param ticks the interval in ticks, or 0 to stop sending probes
+	 */
+	public static void setInterval(int ticks) {
+		if (ticks < 0) throw new IllegalArgumentException("Interval can not be negative");
+		intervalTicks = ticks;
+	}
+
+	public static int getInterval() {
+		return intervalTicks;
+	}
+
+	public static void init(EventNode<Event> node) {
+		node.addListener(PlayerTickEvent.class, event -> {
+			int interval = intervalTicks;
+			Player player = event.getPlayer();
+			if (interval == 0 || player.getAliveTicks() % interval != 0) return;
+			if (!(player instanceof CombatPlayer combatPlayer)) return;
+
+			LatencyEstimator estimator = combatPlayer.getLatencyEstimator();
+			if (estimator == LatencyEstimator.EMPTY) return;
+
+			player.sendPacket(new PingPacket(estimator.startProbe(ID_BASE, System.nanoTime())));
+		});
+
+		node.addListener(PlayerPacketEvent.class, event -> {
+			if (!(event.getPacket() instanceof ClientPongPacket packet)) return;
+			if ((packet.id() & 0xFFFF0000) != ID_BASE) return;
+			if (!(event.getPlayer() instanceof CombatPlayer combatPlayer)) return;
+
+			combatPlayer.getLatencyEstimator().completeProbe(packet.id(), System.nanoTime());
+		});
+	}
+}
@@ -1,6 +1,7 @@
 package io.github.togar2.pvp.potion.effect;
 
 import io.github.togar2.pvp.enchantment.EntityGroup;
+import io.github.togar2.pvp.feature.dot.DamageOverTime;
 import io.github.togar2.pvp.feature.food.ExhaustionFeature;
 import io.github.togar2.pvp.feature.food.FoodFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
@@ -131,6 +132,37 @@ public class CombatPotionEffect {
 				|| (!group.isUndead() && potionEffect == PotionEffect.INSTANT_HEALTH);
 	}
 	
+	/**
+	 * Returns whether this effect deals periodic damage, which can be scheduled as a {@link DamageOverTime}.
+	 *
+	 * @return whether this effect deals damage over time
+	 */
+	public boolean isDamageOverTime() {
+		return potionEffect == PotionEffect.POISON || potionEffect == PotionEffect.WITHER;
+	}
+	
+	/**
+	 * Returns the damage over time for a potion of this effect, with the same timing as {@link #canApplyUpdateEffect(int, int)}.
+	 *
+	 * @param potion the potion which has been applied
+	 * @return the damage over time, or null if this effect does not deal damage over time
+	 */
+	public @Nullable DamageOverTime getDamageOverTime(Potion potion) {
+		if (!isDamageOverTime()) return null;
+		
+		int baseInterval = potionEffect == PotionEffect.POISON ? 25 : 40;
+		int interval = Math.max(baseInterval >> potion.amplifier(), 1);
+		
+		boolean infinite = potion.duration() == Potion.INFINITE_DURATION;
+		int duration = infinite ? DamageOverTime.INFINITE_DURATION : potion.duration();
+		// The duration left is counted down from the full duration, and damage is applied when it is a multiple of the interval
+		int delay = (infinite ? Integer.MAX_VALUE : potion.duration()) % interval;
+		
+		return new DamageOverTime(potionEffect.key(), interval, delay, duration,
+				DamageOverTime.StackingPolicy.REPLACE, 1,
+				(entity, stacks) -> applyUpdateEffect(entity, potion.amplifier(), ExhaustionFeature.NO_OP, FoodFeature.NO_OP));
+	}
+	
 	public boolean canApplyUpdateEffect(int duration, int amplifier) {
 		if (isInstant() || potionEffect == PotionEffect.SATURATION) return duration >= 1;
 		
@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.utils;
 
+import io.github.togar2.pvp.player.CombatPlayer;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.minestom.server.entity.Player;
@@ -24,6 +25,9 @@ public class AccurateLatencyListener {
 		// Update latency
 		final int latency = (int) (System.currentTimeMillis() - sendTime);
 		player.refreshLatency(latency);
+		if (player instanceof CombatPlayer combatPlayer) {
+			combatPlayer.getLatencyEstimator().record(latency);
+		}
 	}
 	
 	public static void onSend(PlayerPacketOutEvent event) {
@@ -2,19 +2,38 @@ package io.github.togar2.pvp.utils;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
+import net.minestom.server.ServerFlag;
 import net.minestom.server.component.DataComponents;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.item.ItemStack;
+import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
 import net.minestom.server.utils.time.TimeUnit;
 
 import java.lang.reflect.Field;
 import java.util.Objects;
 
 public class EntityUtil {
+	// The client clamps every component of a velocity packet to this many blocks per tick
+	private static final double MAX_PACKET_VELOCITY = 3.9;
+	
+	/**
+	 * Creates a velocity packet for an entity, capping every component to what the client accepts.
+	 * When velocity changes are added up before sending, only the result is capped, like vanilla does.
+	 */
+	public static EntityVelocityPacket getCappedVelocityPacket(Entity entity, Vec velocity) {
+		final double max = MAX_PACKET_VELOCITY * ServerFlag.SERVER_TICKS_PER_SECOND;
+		return new EntityVelocityPacket(entity.getEntityId(), new Vec(
+				Math.clamp(velocity.x(), -max, max),
+				Math.clamp(velocity.y(), -max, max),
+				Math.clamp(velocity.z(), -max, max)
+		));
+	}
+	
 	public static void spawnItemAtLocation(Entity entity, ItemStack itemStack, double up) {
 		if (itemStack.isAir()) return;
 		
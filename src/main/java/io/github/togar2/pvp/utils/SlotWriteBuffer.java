@@ -0,0 +1,260 @@
+package io.github.togar2.pvp.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.entity.EquipmentSlot;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.inventory.PlayerInventory;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.tag.Tag;
+
+/**
+ * Buffers equipment writes of an entity until the end of the tick.
+ * An item which is written multiple times in one tick, like armor which is damaged by several hits,
+ * is then only set (and sent to viewers) once with its final value.
+ * <p>
+ * Reads through {@link #getEquipment(LivingEntity, EquipmentSlot)} return the buffered item.
+ * If the slot was changed by something else before the buffer is flushed, the other change is kept,
+ * and the durability change of the buffered write is applied right away to the item it was made for.
+ * For players, that is the same item wherever it was moved to in the inventory,
+ * otherwise an item of the same type which replaced it in the slot.
+ * For players, a buffered main hand write stays bound to the hotbar slot that was held when it was made.
+ */
+public final class SlotWriteBuffer {
+	private static final Tag<SlotWriteBuffer> BUFFER = Tag.Transient("slotWriteBuffer");
+	private static final Object CREATION_LOCK = new Object();
+	private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+
+	private final LivingEntity entity;
+	private final ItemStack[] base = new ItemStack[SLOTS.length];
+	private final ItemStack[] pending = new ItemStack[SLOTS.length];
+	private int heldSlot = -1;
+	private boolean scheduled;
+
+	private SlotWriteBuffer(LivingEntity entity) {
+		this.entity = entity;
+	}
+
+	/**
+	 * Gets the item in a slot of an entity, including a write which has not been flushed yet.
+	 *
+	 * @param entity the entity
+	 * @param slot the slot
+	 * @return the item which will be in the slot after the next flush
+	 */
+	public static ItemStack getEquipment(LivingEntity entity, EquipmentSlot slot) {
+		SlotWriteBuffer buffer = entity.getTag(BUFFER);
+		if (buffer == null) return entity.getEquipment(slot);
+		return buffer.get(slot);
+	}
+
+	/**
+	 * Sets the item in a slot of an entity at the end of the current tick.
+	 * Later writes to the same slot in the same tick replace this one.
+	 *
+	 * @param entity the entity
+	 * @param slot the slot
+	 * @param stack the new item
+	 */
+	public static void setEquipment(LivingEntity entity, EquipmentSlot slot, ItemStack stack) {
+		of(entity).set(slot, stack);
+	}
+
+	/**
+	 * Sets the item in a slot of an entity right away, discarding a buffered write to the same slot.
+	 *
+	 * @param entity the entity
+	 * @param slot the slot
+	 * @param stack the new item
+	 */
+	public static void setEquipmentImmediately(LivingEntity entity, EquipmentSlot slot, ItemStack stack) {
+		SlotWriteBuffer buffer = entity.getTag(BUFFER);
+		if (buffer == null) {
+			entity.setEquipment(slot, stack);
+			return;
+		}
+
+		buffer.setImmediately(slot, stack);
+	}
+
+	/**
+	 * Writes all buffered items of an entity to its slots right away.
+	 *
+	 * @param entity the entity
+	 */
+	public static void flush(LivingEntity entity) {
+		SlotWriteBuffer buffer = entity.getTag(BUFFER);
+		if (buffer != null) buffer.flush();
+	}
+
+	private static SlotWriteBuffer of(LivingEntity entity) {
+		SlotWriteBuffer buffer = entity.getTag(BUFFER);
+		if (buffer != null) return buffer;
+
+		synchronized (CREATION_LOCK) {
+			buffer = entity.getTag(BUFFER);
+			if (buffer == null) {
+				buffer = new SlotWriteBuffer(entity);
+				entity.setTag(BUFFER, buffer);
+			}
+			return buffer;
+		}
+	}
+
+	private synchronized ItemStack get(EquipmentSlot slot) {
+		int index = slot.ordinal();
+		ItemStack stack = pending[index];
+		if (stack == null) return entity.getEquipment(slot);
+
+		if (!isUnchanged(slot)) {
+			rebase(index);
+			return entity.getEquipment(slot);
+		}
+
+		// The main hand write belongs to another hotbar slot
+		if (isBoundToHeldSlot(slot) && ((Player) entity).getHeldSlot() != heldSlot)
+			return entity.getEquipment(slot);
+
+		return stack;
+	}
+
+	private synchronized void set(EquipmentSlot slot, ItemStack stack) {
+		int index = slot.ordinal();
+
+		if (pending[index] != null && isBoundToHeldSlot(slot) && ((Player) entity).getHeldSlot() != heldSlot) {
+			// The player switched hotbar slots, the old slot is written before buffering for the new one
+			if (isUnchanged(slot)) {
+				write(slot, pending[index]);
+				clear(index);
+			} else {
+				rebase(index);
+			}
+		}
+
+		if (pending[index] != null && !isUnchanged(slot)) rebase(index);
+
+		if (pending[index] == null) {
+			ItemStack current = entity.getEquipment(slot);
+			if (current == stack) {
+				clear(index);
+				return;
+			}
+
+			base[index] = current;
+			if (isBoundToHeldSlot(slot)) heldSlot = ((Player) entity).getHeldSlot();
+		}
+
+		pending[index] = stack;
+
+		if (!scheduled) {
+			scheduled = true;
+			MinecraftServer.getSchedulerManager().scheduleEndOfTick(this::flush);
+		}
+	}
+
+	private synchronized void setImmediately(EquipmentSlot slot, ItemStack stack) {
+		int index = slot.ordinal();
+		if (pending[index] != null) {
+			if (!isUnchanged(slot)) {
+				rebase(index);
+			} else if (isBoundToHeldSlot(slot) && ((Player) entity).getHeldSlot() != heldSlot) {
+				write(slot, pending[index]);
+			}
+		}
+
+		clear(index);
+		entity.setEquipment(slot, stack);
+	}
+
+	private synchronized void flush() {
+		scheduled = false;
+		if (entity.isRemoved()) {
+			for (int i = 0; i < SLOTS.length; i++) {
+				clear(i);
+			}
+			return;
+		}
+
+		for (int i = 0; i < SLOTS.length; i++) {
+			ItemStack stack = pending[i];
+			if (stack == null) continue;
+
+			EquipmentSlot slot = SLOTS[i];
+			if (isUnchanged(slot)) {
+				write(slot, stack);
+				clear(i);
+			} else {
+				rebase(i);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the slot still contains the item which was there when the write was buffered
+	 */
+	private boolean isUnchanged(EquipmentSlot slot) {
+		ItemStack current = isBoundToHeldSlot(slot)
+				? ((Player) entity).getInventory().getItemStack(heldSlot)
+				: entity.getEquipment(slot);
+		return current == base[slot.ordinal()];
+	}
+
+	private void write(EquipmentSlot slot, ItemStack stack) {
+		if (isBoundToHeldSlot(slot)) {
+			((Player) entity).getInventory().setItemStack(heldSlot, stack);
+		} else {
+			entity.setEquipment(slot, stack);
+		}
+	}
+
+	/**
+	 * Applies the durability change of a buffered write, whose slot was changed by something else,
+	 * to the item the write was made for. This way moving an item in the same tick it is damaged,
+	 * like swapping hands or taking off armor, does not undo the damage.
+	 */
+	private void rebase(int index) {
+		ItemStack from = base[index];
+		ItemStack to = pending[index];
+		clear(index);
+		if (from == null || to == null || from.material() != to.material()) return;
+
+		int delta = to.get(DataComponents.DAMAGE, 0) - from.get(DataComponents.DAMAGE, 0);
+		if (delta == 0) return;
+
+		// The item keeps its instance when it is moved, so it can be found by identity
+		if (entity instanceof Player player) {
+			PlayerInventory inventory = player.getInventory();
+			for (int i = 0; i < inventory.getSize(); i++) {
+				if (inventory.getItemStack(i) == from) {
+					inventory.setItemStack(i, withDamage(from, delta));
+					return;
+				}
+			}
+		}
+
+		// Otherwise, the item could have been replaced by a modified copy
+		EquipmentSlot slot = SLOTS[index];
+		ItemStack current = isBoundToHeldSlot(slot)
+				? ((Player) entity).getInventory().getItemStack(heldSlot)
+				: entity.getEquipment(slot);
+		if (current.material() == from.material()) write(slot, withDamage(current, delta));
+	}
+
+	private static ItemStack withDamage(ItemStack stack, int delta) {
+		int damage = stack.get(DataComponents.DAMAGE, 0) + delta;
+		if (damage < stack.get(DataComponents.MAX_DAMAGE, 0)) return stack.with(DataComponents.DAMAGE, damage);
+
+		// The damage broke the item after it was moved
+		return stack.withAmount(amount -> amount - 1).with(DataComponents.DAMAGE, 0);
+	}
+
+	private boolean isBoundToHeldSlot(EquipmentSlot slot) {
+		return slot == EquipmentSlot.MAIN_HAND && entity instanceof Player;
+	}
+
+	private void clear(int index) {
+		pending[index] = null;
+		base[index] = null;
+	}
+}
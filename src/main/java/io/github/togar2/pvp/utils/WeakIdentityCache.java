@@ -0,0 +1,145 @@
+package io.github.togar2.pvp.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache which compares keys by identity and only holds weak references to them,
+ * so values are dropped once their key is no longer used anywhere else.
+ * Missing values are computed using the loader given in the constructor.
+ * <p>
+ * Getting a value which is present does not lock or allocate. Entries are never modified after they are added,
+ * so removing or rehashing entries replaces them with copies, and only computing a missing value takes a lock.
+ * <p>
+ * This is meant for values derived from immutable objects, like item stacks or their components.
+ * Values must not reference their key, otherwise the key will never be collected.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class WeakIdentityCache<K, V> {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final Function<K, V> loader;
+	private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+	private volatile AtomicReferenceArray<Entry<K, V>> table;
+	private int size;
+
+	public WeakIdentityCache(Function<K, V> loader) {
+		this.loader = loader;
+		this.table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Gets the value for a key, computing it if it is not yet present.
+	 *
+	 * @param key the key
+	 * @return the value
+	 */
+	public V get(K key) {
+		int hash = System.identityHashCode(key);
+		Entry<K, V> entry = find(table, key, hash);
+		return entry != null ? entry.value : load(key, hash);
+	}
+
+	public synchronized int size() {
+		expungeStaleEntries();
+		return size;
+	}
+
+	public synchronized void clear() {
+		while (queue.poll() != null);
+		table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+		size = 0;
+	}
+
+	private static <K, V> Entry<K, V> find(AtomicReferenceArray<Entry<K, V>> table, K key, int hash) {
+		for (Entry<K, V> entry = table.get(hash & (table.length() - 1)); entry != null; entry = entry.next) {
+			if (entry.hash == hash && entry.get() == key) return entry;
+		}
+		return null;
+	}
+
+	private synchronized V load(K key, int hash) {
+		// Another thread may have added the value since the lock-free lookup
+		Entry<K, V> existing = find(table, key, hash);
+		if (existing != null) return existing.value;
+
+		V value = loader.apply(key);
+		expungeStaleEntries();
+		if (size >= table.length() - (table.length() >> 2)) resize();
+
+		AtomicReferenceArray<Entry<K, V>> table = this.table;
+		int index = hash & (table.length() - 1);
+		table.set(index, new Entry<>(key, hash, value, table.get(index), queue));
+		size++;
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void expungeStaleEntries() {
+		AtomicReferenceArray<Entry<K, V>> table = this.table;
+
+		Object reference;
+		while ((reference = queue.poll()) != null) {
+			Entry<K, V> stale = (Entry<K, V>) reference;
+			int index = stale.hash & (table.length() - 1);
+			Entry<K, V> head = table.get(index);
+
+			// Stale entries which were already left out of a copy are no longer in the table
+			Entry<K, V> entry = head;
+			while (entry != null && entry != stale) entry = entry.next;
+			if (entry == null) continue;
+
+			Entry<K, V> chain = stale.next;
+			for (entry = head; entry != stale; entry = entry.next) {
+				chain = copy(entry, chain);
+			}
+			table.set(index, chain);
+			size--;
+		}
+	}
+
+	private void resize() {
+		AtomicReferenceArray<Entry<K, V>> oldTable = table;
+		AtomicReferenceArray<Entry<K, V>> newTable = new AtomicReferenceArray<>(oldTable.length() << 1);
+
+		for (int i = 0; i < oldTable.length(); i++) {
+			for (Entry<K, V> entry = oldTable.get(i); entry != null; entry = entry.next) {
+				int index = entry.hash & (newTable.length() - 1);
+				newTable.set(index, copy(entry, newTable.get(index)));
+			}
+		}
+
+		// Readers still using the old table find the same entries there
+		table = newTable;
+	}
+
+	/**
+	 * Copies an entry in front of another chain, or leaves it out if its key was already collected.
+	 */
+	private Entry<K, V> copy(Entry<K, V> entry, Entry<K, V> next) {
+		K key = entry.get();
+		if (key == null) {
+			size--;
+			return next;
+		}
+		return new Entry<>(key, entry.hash, entry.value, next, queue);
+	}
+
+	private static final class Entry<K, V> extends WeakReference<K> {
+		private final int hash;
+		private final V value;
+		private final Entry<K, V> next;
+
+		private Entry(K key, int hash, V value, Entry<K, V> next, ReferenceQueue<K> queue) {
+			super(key, queue);
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package io.github.togar2.pvp.test;
+
+import io.github.togar2.pvp.MinestomPvP;
+import io.github.togar2.pvp.feature.CombatFeatureSet;
+import io.github.togar2.pvp.feature.CombatFeatures;
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.attack.AttackFeature;
+import io.github.togar2.pvp.feature.damage.VanillaDamageFeature;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.instance.Instance;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how many bytes are allocated per attack, using the allocation counter of the current thread.
+ * <p>
+ * A full {@link AttackFeature#performAttack} between two zombies is measured with the vanilla features.
+ * This class only uses API which already existed before attacks were resolved through a pooled context,
+ * so to compare against that baseline, run it on a checkout of the tagged baseline build as well,
+ * and pass the bytes per attack it printed to the run of the current build.
+ * <p>
+ * Usage: {@code AttackAllocationHarness [attacks] [baseline bytes per attack]}
+ */
+public class AttackAllocationHarness {
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) {
+		int attacks = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+		MinecraftServer.init();
+		MinestomPvP.init();
+
+		CombatFeatureSet featureSet = CombatFeatures.modernVanilla();
+		MinecraftServer.getGlobalEventHandler().addChild(featureSet.createNode());
+
+		Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+		EntityCreature attacker = new EntityCreature(EntityType.ZOMBIE);
+		EntityCreature target = new EntityCreature(EntityType.ZOMBIE);
+		attacker.setInstance(instance, new Pos(0, 60, 0)).join();
+		target.setInstance(instance, new Pos(0, 60, 1)).join();
+		target.getAttribute(Attribute.MAX_HEALTH).setBaseValue(1_000_000);
+
+		Runnable attack = attack(featureSet.get(FeatureType.ATTACK), attacker, target);
+
+		// Warm up, so the measurement is not influenced by class loading and compilation
+		measure(attack, attacks / 4);
+
+		double current = measure(attack, attacks);
+		System.out.printf("performAttack: %.1f bytes per attack%n", current);
+		if (args.length > 1) {
+			double before = Double.parseDouble(args[1]);
+			System.out.printf("baseline: %.1f bytes per attack%n", before);
+			System.out.printf("reduction: %.1f bytes per attack (%.0f%%)%n", before - current, (before - current) / before * 100);
+		}
+
+		MinecraftServer.stopCleanly();
+	}
+
+	private static Runnable attack(AttackFeature attackFeature, LivingEntity attacker, LivingEntity target) {
+		return () -> {
+			// Remove invulnerability and keep the target alive, so every attack deals damage
+			target.removeTag(VanillaDamageFeature.NEW_DAMAGE_TIME);
+			target.heal();
+			attackFeature.performAttack(attacker, target);
+		};
+	}
+
+	private static double measure(Runnable runnable, int iterations) {
+		long threadId = Thread.currentThread().threadId();
+		long before = THREADS.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < iterations; i++) {
+			runnable.run();
+		}
+		long after = THREADS.getThreadAllocatedBytes(threadId);
+		return (after - before) / (double) iterations;
+	}
+}
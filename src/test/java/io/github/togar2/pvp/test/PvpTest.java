@@ -1,6 +1,7 @@
 package io.github.togar2.pvp.test;
 
 import io.github.togar2.pvp.MinestomPvP;
+import io.github.togar2.pvp.entity.CombatCreature;
 import io.github.togar2.pvp.events.EntityKnockbackEvent;
 import io.github.togar2.pvp.events.FinalDamageEvent;
 import io.github.togar2.pvp.feature.CombatFeatures;
@@ -65,7 +66,7 @@ public class PvpTest {
 			event.setSpawningInstance(instance);
 			event.getPlayer().setRespawnPoint(spawn);
 			
-			EntityCreature entity = new EntityCreature(EntityType.ZOMBIE);
+			EntityCreature entity = new CombatCreature(EntityType.ZOMBIE);
 			entity.setInstance(instance, spawn);
 			entity.getAttribute(Attribute.MAX_HEALTH).setBaseValue(500);
 			entity.heal();
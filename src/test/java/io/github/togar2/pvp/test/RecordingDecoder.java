@@ -0,0 +1,86 @@
+package io.github.togar2.pvp.test;
+
+import io.github.togar2.pvp.feature.recording.CombatRecordFormat;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Prints the records written by {@code MappedRecorderFeature} as CSV.
+ * <p>
+ * Usage: {@code RecordingDecoder <segment file or instance directory>...}
+ */
+public class RecordingDecoder {
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: RecordingDecoder <segment file or instance directory>...");
+			System.exit(1);
+		}
+
+		PrintStream out = System.out;
+		out.println("instance,tick,attacker,victim,source,damageType,amount,"
+				+ "knockbackX,knockbackY,knockbackZ,victimX,victimY,victimZ,attackerX,attackerY,attackerZ");
+
+		for (String arg : args) {
+			Path path = Path.of(arg);
+			if (Files.isDirectory(path)) {
+				List<Path> segments;
+				try (Stream<Path> files = Files.list(path)) {
+					segments = files.filter(file -> file.getFileName().toString().startsWith("segment-"))
+							.sorted().toList();
+				}
+				for (Path segment : segments) decode(segment, out);
+			} else {
+				decode(path, out);
+			}
+		}
+	}
+
+	private static void decode(Path segment, PrintStream out) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.getInt(CombatRecordFormat.HEADER_MAGIC) != CombatRecordFormat.MAGIC)
+			throw new IOException(segment + " is not a combat recording segment");
+		int version = buffer.getInt(CombatRecordFormat.HEADER_VERSION);
+		if (version != CombatRecordFormat.VERSION)
+			throw new IOException(segment + " has unsupported version " + version);
+
+		int recordSize = buffer.getInt(CombatRecordFormat.HEADER_RECORD_SIZE);
+		int count = buffer.getInt(CombatRecordFormat.HEADER_RECORD_COUNT);
+		UUID instance = new UUID(
+				buffer.getLong(CombatRecordFormat.HEADER_INSTANCE_MOST),
+				buffer.getLong(CombatRecordFormat.HEADER_INSTANCE_LEAST)
+		);
+
+		for (int i = 0; i < count; i++) {
+			int offset = CombatRecordFormat.HEADER_SIZE + i * recordSize;
+			out.println(instance
+					+ "," + buffer.getLong(offset + CombatRecordFormat.TICK)
+					+ "," + buffer.getInt(offset + CombatRecordFormat.ATTACKER)
+					+ "," + buffer.getInt(offset + CombatRecordFormat.VICTIM)
+					+ "," + buffer.getInt(offset + CombatRecordFormat.SOURCE)
+					+ "," + buffer.getInt(offset + CombatRecordFormat.DAMAGE_TYPE)
+					+ "," + buffer.getFloat(offset + CombatRecordFormat.AMOUNT)
+					+ "," + buffer.getFloat(offset + CombatRecordFormat.KNOCKBACK_X)
+					+ "," + buffer.getFloat(offset + CombatRecordFormat.KNOCKBACK_Y)
+					+ "," + buffer.getFloat(offset + CombatRecordFormat.KNOCKBACK_Z)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.VICTIM_X)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.VICTIM_Y)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.VICTIM_Z)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.ATTACKER_X)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.ATTACKER_Y)
+					+ "," + buffer.getDouble(offset + CombatRecordFormat.ATTACKER_Z));
+		}
+	}
+}
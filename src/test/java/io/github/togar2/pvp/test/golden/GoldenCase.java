@@ -0,0 +1,60 @@
+package io.github.togar2.pvp.test.golden;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * One entry of the golden vector corpus: the inputs of a scenario and the outputs recorded with the baseline features.
+ * <p>
+ * Numbers are stored as hexadecimal floating point literals, so they are read back with exactly the same bits.
+ */
+public record GoldenCase(int id, GoldenScenario scenario, boolean legacy, double[] inputs, double[] outputs) {
+
+	/**
+	 * Compares outputs bit by bit, only treating all NaN values as equal.
+	 *
+	 * @param actual the outputs of the implementation under test
+	 * @return the index of the first differing output, or -1 if all outputs are identical
+	 */
+	public int firstDivergence(double[] actual) {
+		if (actual.length != outputs.length) return Math.min(actual.length, outputs.length);
+		for (int i = 0; i < outputs.length; i++) {
+			if (Double.doubleToLongBits(actual[i]) != Double.doubleToLongBits(outputs[i])) return i;
+		}
+		return -1;
+	}
+
+	public String toLine() {
+		return id + "\t" + scenario.name() + "\t" + (legacy ? "legacy" : "modern")
+				+ "\t" + join(inputs) + "\t" + join(outputs);
+	}
+
+	public static GoldenCase parse(String line) {
+		String[] columns = line.split("\t");
+		if (columns.length != 5) throw new IllegalArgumentException("Expected 5 columns: " + line);
+
+		return new GoldenCase(
+				Integer.parseInt(columns[0]),
+				GoldenScenario.valueOf(columns[1]),
+				columns[2].equals("legacy"),
+				split(columns[3]),
+				split(columns[4])
+		);
+	}
+
+	private static String join(double[] values) {
+		StringJoiner joiner = new StringJoiner(",");
+		for (double value : values) joiner.add(Double.toHexString(value));
+		return joiner.toString();
+	}
+
+	private static double[] split(String column) {
+		if (column.isEmpty()) return new double[0];
+		return Arrays.stream(column.split(",")).mapToDouble(Double::parseDouble).toArray();
+	}
+
+	@Override
+	public String toString() {
+		return "#" + id + " " + scenario + " (" + (legacy ? "legacy" : "modern") + ") " + Arrays.toString(inputs);
+	}
+}
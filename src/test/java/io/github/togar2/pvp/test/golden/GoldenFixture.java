@@ -0,0 +1,109 @@
+package io.github.togar2.pvp.test.golden;
+
+import io.github.togar2.pvp.player.CombatPlayerImpl;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.Aerodynamics;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.player.GameProfile;
+import net.minestom.server.network.player.PlayerConnection;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.UUID;
+
+/**
+ * The instance and the entities every golden scenario runs with.
+ * The server is never started, so nothing ticks and the entities only change through the scenario itself.
+ * <p>
+ * The player has a connection which drops every packet, and is only used as a target with latency.
+ * <p>
+ * The attacker and target are spawned again for every case instead of clearing their state,
+ * so tags which features store on them, like cached values, can not carry over between cases.
+ * This also keeps the fixture independent of those tags, so it runs against the baseline build when recording.
+ */
+final class GoldenFixture {
+	static final Pos TARGET_POSITION = new Pos(8, 60, 8);
+	static final Pos PLAYER_POSITION = TARGET_POSITION.add(0, 0, 1);
+
+	final Instance instance;
+	TestEntity attacker;
+	TestEntity target;
+	final TestPlayer player;
+
+	private final Aerodynamics playerAerodynamics;
+
+	GoldenFixture() {
+		this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+		this.attacker = spawn(TARGET_POSITION.add(0, 0, -1));
+		this.target = spawn(TARGET_POSITION);
+
+		this.player = new TestPlayer();
+		player.setInstance(instance, PLAYER_POSITION).join();
+		this.playerAerodynamics = player.getAerodynamics();
+	}
+
+	/**
+	 * Replaces the attacker and target by new entities and puts the player back into the same state,
+	 * so every case only depends on its own inputs.
+	 */
+	void reset() {
+		attacker.remove();
+		target.remove();
+		attacker = spawn(TARGET_POSITION.add(0, 0, -1));
+		target = spawn(TARGET_POSITION);
+
+		player.refreshLatency(0);
+		player.setAerodynamics(playerAerodynamics);
+		player.setGrounded(false);
+		player.setVelocity(Vec.ZERO);
+		player.teleport(PLAYER_POSITION).join();
+	}
+
+	private TestEntity spawn(Pos position) {
+		TestEntity entity = new TestEntity();
+		// Zombies have natural armor, the scenarios start without any
+		entity.getAttribute(Attribute.ARMOR).setBaseValue(0);
+		entity.getAttribute(Attribute.MAX_HEALTH).setBaseValue(1000);
+		entity.heal();
+		entity.setInstance(instance, position).join();
+		return entity;
+	}
+
+	static final class TestEntity extends EntityCreature {
+		TestEntity() {
+			super(EntityType.ZOMBIE);
+		}
+
+		void setGrounded(boolean grounded) {
+			this.onGround = grounded;
+		}
+	}
+
+	static final class TestPlayer extends CombatPlayerImpl {
+		TestPlayer() {
+			super(new DiscardingConnection(), new GameProfile(UUID.randomUUID(), "golden"));
+		}
+
+		void setGrounded(boolean grounded) {
+			this.onGround = grounded;
+		}
+	}
+
+	private static final class DiscardingConnection extends PlayerConnection {
+		private static final SocketAddress ADDRESS = new InetSocketAddress(0);
+
+		@Override
+		public void sendPacket(SendablePacket packet) {}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return ADDRESS;
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package io.github.togar2.pvp.test.golden;
+
+import io.github.togar2.pvp.feature.CombatFeatureSet;
+import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.armor.ArmorFeature;
+import io.github.togar2.pvp.feature.attack.AttackValues;
+import io.github.togar2.pvp.feature.attack.CriticalFeature;
+import io.github.togar2.pvp.feature.fall.VanillaFallFeature;
+import io.github.togar2.pvp.feature.knockback.FairKnockbackFeature;
+import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.Aerodynamics;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.entity.damage.DamageType;
+import net.minestom.server.entity.damage.EntityDamage;
+import net.minestom.server.potion.Potion;
+import net.minestom.server.potion.PotionEffect;
+import net.minestom.server.registry.RegistryKey;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The situations the golden vector corpus covers.
+ * Every scenario generates its inputs from a random source, and turns them into outputs using a feature set.
+ * The corpus is recorded by running the scenarios with the features of the baseline build.
+ */
+public enum GoldenScenario {
+	/**
+	 * Attack knockback from an attacker with the given yaw.
+	 * Inputs: yaw, target velocity x, y and z, extra knockback level, knockback resistance, target on ground.
+	 * Outputs: applied, target velocity x, y and z.
+	 */
+	ATTACK_KNOCKBACK {
+		@Override
+		double[] generateInputs(Random random) {
+			return new double[]{
+					random.nextInt(-180, 180), velocity(random), velocity(random), velocity(random),
+					random.nextInt(0, 4), resistance(random), random.nextBoolean() ? 1 : 0
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.attacker.teleport(fixture.attacker.getPosition().withYaw((float) in[0])).join();
+			prepareTarget(fixture, in[1], in[2], in[3], in[5], in[6]);
+
+			KnockbackFeature knockback = features.get(FeatureType.KNOCKBACK);
+			boolean applied = knockback.applyAttackKnockback(fixture.attacker, fixture.target, (int) in[4]);
+			return withVelocity(applied, fixture.target);
+		}
+	},
+	/**
+	 * Damage knockback from an attacker standing next to the target.
+	 * Inputs: attacker offset x and z, target velocity x, y and z, knockback resistance, target on ground.
+	 * Outputs: applied, target velocity x, y and z.
+	 */
+	DAMAGE_KNOCKBACK {
+		@Override
+		double[] generateInputs(Random random) {
+			// Offsets are kept away from 0, where the direction would be random
+			return new double[]{
+					offset(random), offset(random), velocity(random), velocity(random), velocity(random),
+					resistance(random), random.nextBoolean() ? 1 : 0
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.attacker.teleport(GoldenFixture.TARGET_POSITION.add(in[0], 0, in[1])).join();
+			prepareTarget(fixture, in[2], in[3], in[4], in[5], in[6]);
+
+			KnockbackFeature knockback = features.get(FeatureType.KNOCKBACK);
+			boolean applied = knockback.applyDamageKnockback(new EntityDamage(fixture.attacker, 1), fixture.target);
+			return withVelocity(applied, fixture.target);
+		}
+	},
+	/**
+	 * Damage knockback on a falling player with latency, from the attacker straight behind it.
+	 * Knockback features which compensate for latency, like {@link FairKnockbackFeature#RISING_AND_FALLING},
+	 * predict the vertical velocity the player has when the knockback arrives.
+	 * Inputs: vertical velocity, latency in milliseconds, gravity, vertical air resistance.
+	 * Outputs: applied, player velocity x, y and z.
+	 */
+	FAIR_FALL_COMPENSATION {
+		@Override
+		double[] generateInputs(Random random) {
+			return new double[]{
+					velocity(random), random.nextInt(MIN_LATENCY, 301),
+					random.nextBoolean() ? 0.08 : random.nextDouble(0, 0.1),
+					random.nextBoolean() ? 0.98 : random.nextDouble(0.9, 1)
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.player.refreshLatency((int) in[1]);
+			fixture.player.setAerodynamics(new Aerodynamics(in[2], 0.91, in[3]));
+			fixture.player.setVelocity(new Vec(0, in[0], 0));
+
+			KnockbackFeature knockback = features.get(FeatureType.KNOCKBACK);
+			boolean applied = knockback.applyDamageKnockback(new EntityDamage(fixture.attacker, 1), fixture.player);
+			return withVelocity(applied, fixture.player);
+		}
+	},
+	/**
+	 * Armor and resistance reduction.
+	 * Inputs: armor, armor toughness, damage, damage type index, resistance level (-1 for none).
+	 * Outputs: reduced damage.
+	 */
+	ARMOR {
+		@Override
+		double[] generateInputs(Random random) {
+			return new double[]{
+					random.nextInt(0, 31), random.nextInt(0, 13), damage(random),
+					random.nextInt(DAMAGE_TYPES.size()), random.nextInt(-1, 5)
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.target.getAttribute(Attribute.ARMOR).setBaseValue(in[0]);
+			fixture.target.getAttribute(Attribute.ARMOR_TOUGHNESS).setBaseValue(in[1]);
+			if (in[4] >= 0) fixture.target.addEffect(new Potion(PotionEffect.RESISTANCE, (int) in[4], 1000));
+
+			DamageType type = MinecraftServer.getDamageTypeRegistry().get(DAMAGE_TYPES.get((int) in[3]));
+			ArmorFeature armor = features.get(FeatureType.ARMOR);
+			return new double[]{armor.getDamageWithProtection(fixture.target, type, (float) in[2])};
+		}
+	},
+	/**
+	 * The full damage pipeline, from the damage event to the health and knockback of the target.
+	 * Inputs: damage, armor, damage type index (the last index is an attack by the attacker),
+	 * health (more than the damage, so the target does not die).
+	 * Outputs: damaged, health, target velocity x, y and z.
+	 */
+	DAMAGE {
+		@Override
+		double[] generateInputs(Random random) {
+			// Health stays above the highest damage, so the target never dies
+			return new double[]{
+					damage(random), random.nextInt(0, 21), random.nextInt(DAMAGE_TYPES.size() + 1),
+					random.nextInt(31, 61)
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.target.getAttribute(Attribute.ARMOR).setBaseValue(in[1]);
+			fixture.target.setHealth((float) in[3]);
+
+			int typeIndex = (int) in[2];
+			Damage damage = typeIndex == DAMAGE_TYPES.size()
+					? new EntityDamage(fixture.attacker, (float) in[0])
+					: new Damage(DAMAGE_TYPES.get(typeIndex), null, null, null, (float) in[0]);
+			boolean damaged = fixture.target.damage(damage);
+			return withVelocity(damaged, fixture.target, fixture.target.getHealth());
+		}
+	},
+	/**
+	 * Critical hit rules and the critical damage bonus.
+	 * The legacy bonus is random, so it is only recorded for modern versions.
+	 * Inputs: fall distance, on ground, sprinting, strong attack, damage.
+	 * Outputs: critical, critical damage (NaN for legacy).
+	 */
+	CRITICAL {
+		@Override
+		double[] generateInputs(Random random) {
+			return new double[]{
+					random.nextBoolean() ? 0 : random.nextDouble(0, 4),
+					random.nextBoolean() ? 1 : 0, random.nextBoolean() ? 1 : 0, random.nextBoolean() ? 1 : 0,
+					damage(random)
+			};
+		}
+
+		@Override
+		double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] in) {
+			fixture.attacker.setTag(VanillaFallFeature.FALL_DISTANCE, in[0]);
+			fixture.attacker.setGrounded(in[1] != 0);
+			fixture.attacker.setSprinting(in[2] != 0);
+
+			CriticalFeature critical = features.get(FeatureType.CRITICAL);
+			AttackValues.PreCritical values = new AttackValues.PreCritical(
+					(float) in[4], 0, 1, in[3] != 0, in[2] != 0, 0, 0
+			);
+			boolean crit = critical.shouldCrit(fixture.attacker, values);
+			double damage = features.get(FeatureType.VERSION).legacy() ? Double.NaN : critical.applyToDamage((float) in[4]);
+			return new double[]{crit ? 1 : 0, damage};
+		}
+	};
+
+	// Recorded cases refer to these by index, so the order has to stay the same
+	static final List<RegistryKey<DamageType>> DAMAGE_TYPES = List.of(
+			DamageType.GENERIC, DamageType.FALL, DamageType.MAGIC, DamageType.ON_FIRE, DamageType.ARROW
+	);
+
+	// Fair knockback does not compensate lower latencies
+	private static final int MIN_LATENCY = 25;
+
+	abstract double[] generateInputs(Random random);
+
+	abstract double[] run(CombatFeatureSet features, GoldenFixture fixture, double[] inputs);
+
+	private static void prepareTarget(GoldenFixture fixture, double vx, double vy, double vz,
+	                                  double resistance, double grounded) {
+		fixture.target.setVelocity(new Vec(vx, vy, vz));
+		fixture.target.getAttribute(Attribute.KNOCKBACK_RESISTANCE).setBaseValue(resistance);
+		fixture.target.setGrounded(grounded != 0);
+	}
+
+	private static double[] withVelocity(boolean applied, Entity entity, double... extra) {
+		Vec velocity = entity.getVelocity();
+		double[] out = new double[4 + extra.length];
+		out[0] = applied ? 1 : 0;
+		System.arraycopy(extra, 0, out, 1, extra.length);
+		out[1 + extra.length] = velocity.x();
+		out[2 + extra.length] = velocity.y();
+		out[3 + extra.length] = velocity.z();
+		return out;
+	}
+
+	// Velocities are in blocks per second, like Minestom uses them
+	private static double velocity(Random random) {
+		return random.nextBoolean() ? 0 : random.nextDouble(-20, 20);
+	}
+
+	private static double offset(Random random) {
+		double offset = random.nextDouble(0.1, 3);
+		return random.nextBoolean() ? offset : -offset;
+	}
+
+	private static double resistance(Random random) {
+		return random.nextInt(4) == 0 ? random.nextInt(0, 11) / 10.0 : 0;
+	}
+
+	private static double damage(Random random) {
+		return random.nextInt(4) == 0 ? random.nextInt(1, 30) : random.nextDouble(0, 30);
+	}
+}
@@ -0,0 +1,154 @@
+package io.github.togar2.pvp.test.golden;
+
+import io.github.togar2.pvp.MinestomPvP;
+import io.github.togar2.pvp.feature.CombatFeatureSet;
+import io.github.togar2.pvp.feature.CombatFeatures;
+import io.github.togar2.pvp.feature.config.CombatConfiguration;
+import io.github.togar2.pvp.feature.provider.DifficultyProvider;
+import io.github.togar2.pvp.utils.CombatVersion;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.trait.EntityInstanceEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+/**
+ * Records and replays the golden vector corpus of knockback, damage, armor and critical hit calculations,
+ * so a changed or replacement feature can be checked for producing exactly the same results as the baseline.
+ * <p>
+ * The corpus is recorded by running every {@link GoldenScenario} with the reference feature set,
+ * which is vanilla with {@link CombatFeatures#FAIR_RISING_FALLING_KNOCKBACK}.
+ * Outputs are only meaningful when recorded with the baseline build: copy this package onto a checkout
+ * of the baseline commit, run {@code record} there, and use the written file to {@code check} later builds.
+ * Checking replays the corpus with the reference feature set of the current build,
+ * or with a feature set created by a {@link FeatureSetFactory} given by its class name.
+ * Every case with a different output is printed.
+ * <p>
+ * Usage: {@code GoldenVectorRunner record <corpus file> [cases per scenario] [seed]}
+ * or {@code GoldenVectorRunner check <corpus file> [factory class]}
+ */
+public class GoldenVectorRunner {
+	private static final int DEFAULT_CASES = 200;
+	private static final long DEFAULT_SEED = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Creates the feature set to check against the corpus, for both legacy and modern cases.
+	 * Implementations need a public constructor without parameters.
+	 * The knockback feature is expected to compensate falling players for latency, see {@link GoldenScenario#FAIR_FALL_COMPENSATION}.
+	 */
+	public interface FeatureSetFactory {
+		CombatFeatureSet create(CombatVersion version);
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2 || !(args[0].equals("record") || args[0].equals("check"))) {
+			System.err.println("Usage: GoldenVectorRunner record <corpus file> [cases per scenario] [seed]");
+			System.err.println("       GoldenVectorRunner check <corpus file> [factory class]");
+			System.exit(1);
+		}
+
+		MinecraftServer.init();
+		MinestomPvP.init();
+
+		Path path = Path.of(args[1]);
+		int status = 0;
+		if (args[0].equals("record")) {
+			int casesPerScenario = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CASES;
+			long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+			record(path, casesPerScenario, seed);
+		} else {
+			FeatureSetFactory factory = args.length > 2
+					? (FeatureSetFactory) Class.forName(args[2]).getConstructor().newInstance()
+					: GoldenVectorRunner::reference;
+			if (check(path, factory) != 0) status = 2;
+		}
+
+		MinecraftServer.stopCleanly();
+		System.exit(status);
+	}
+
+	// Fair knockback only differs from vanilla knockback for players with latency
+	private static CombatFeatureSet reference(CombatVersion version) {
+		CombatConfiguration configuration = CombatFeatures.getVanilla(version, DifficultyProvider.DEFAULT)
+				.add(CombatFeatures.FAIR_RISING_FALLING_KNOCKBACK);
+		if (version.legacy()) configuration.add(CombatFeatures.LEGACY_VANILLA_BLOCK);
+		return configuration.build();
+	}
+
+	private static void record(Path path, int casesPerScenario, long seed) throws IOException {
+		Random random = new Random(seed);
+		List<GoldenCase> cases = new ArrayList<>();
+		for (GoldenScenario scenario : GoldenScenario.values()) {
+			for (boolean legacy : new boolean[]{false, true}) {
+				for (int i = 0; i < casesPerScenario; i++) {
+					cases.add(new GoldenCase(cases.size(), scenario, legacy, scenario.generateInputs(random), new double[0]));
+				}
+			}
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add("# Golden vectors recorded with the reference feature set, seed " + seed
+				+ ". Columns: id, scenario, version, inputs, outputs");
+		double[][] outputs = new double[cases.size()][];
+		run(cases, GoldenVectorRunner::reference, (goldenCase, result) -> outputs[goldenCase.id()] = result);
+		for (GoldenCase goldenCase : cases) {
+			lines.add(new GoldenCase(goldenCase.id(), goldenCase.scenario(), goldenCase.legacy(),
+					goldenCase.inputs(), outputs[goldenCase.id()]).toLine());
+		}
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) Files.createDirectories(parent);
+		Files.write(path, lines);
+		System.out.println("Recorded " + cases.size() + " cases to " + path);
+	}
+
+	private static int check(Path path, FeatureSetFactory factory) throws IOException {
+		List<GoldenCase> cases = Files.readAllLines(path).stream()
+				.filter(line -> !line.isBlank() && !line.startsWith("#"))
+				.map(GoldenCase::parse)
+				.toList();
+
+		int[] divergences = {0};
+		run(cases, factory, (goldenCase, outputs) -> {
+			int index = goldenCase.firstDivergence(outputs);
+			if (index < 0) return;
+
+			divergences[0]++;
+			System.out.println(goldenCase + ": output " + index + " differs, expected "
+					+ Arrays.toString(goldenCase.outputs()) + " but got " + Arrays.toString(outputs));
+		});
+
+		System.out.println(divergences[0] + " of " + cases.size() + " cases diverged");
+		return divergences[0];
+	}
+
+	private static void run(List<GoldenCase> cases, FeatureSetFactory factory,
+	                        BiConsumer<GoldenCase, double[]> consumer) {
+		GoldenFixture fixture = new GoldenFixture();
+
+		// Each version is run with only its own listeners registered
+		for (boolean legacy : new boolean[]{false, true}) {
+			CombatFeatureSet features = factory.create(CombatVersion.fromLegacy(legacy));
+			EventNode<EntityInstanceEvent> node = features.createNode();
+			MinecraftServer.getGlobalEventHandler().addChild(node);
+
+			try {
+				for (GoldenCase goldenCase : cases) {
+					if (goldenCase.legacy() != legacy) continue;
+
+					fixture.reset();
+					consumer.accept(goldenCase, goldenCase.scenario().run(features, fixture, goldenCase.inputs()));
+				}
+			} finally {
+				MinecraftServer.getGlobalEventHandler().removeChild(node);
+			}
+		}
+	}
+}